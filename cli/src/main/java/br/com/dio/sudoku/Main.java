@@ -0,0 +1,16 @@
+package br.com.dio.sudoku;
+
+import br.com.dio.sudoku.game.SudokuGame;
+
+public class Main {
+    public static void main(String[] args) {
+        // --train: partida automática para gerar o arquivo AppCDS (ver scripts/cds-train.sh)
+        if (args.length > 0 && args[0].equals("--train")) {
+            TrainingRun.run(20);
+            return;
+        }
+
+        SudokuGame game = new SudokuGame(args);
+        game.run();
+    }
+}
@@ -0,0 +1,54 @@
+package br.com.dio.sudoku;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.game.SudokuGame;
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// Partida representativa usada para gerar o arquivo AppCDS (Main --train).
+// Rodada com -XX:ArchiveClassesAtExit=..., carrega as mesmas classes de uma sessão real
+// (menu, jogadas, validação, undo/redo, status) para que fiquem no arquivo compartilhado.
+public class TrainingRun {
+
+    static final String PUZZLE =
+            "53..7....6..195....98....6.8...6...34..8.3..17...2...6.6....28....419..5....8..79";
+
+    // cada bloco é uma opção do menu seguida das respostas aos prompts
+    private static final String SCRIPT = String.join("\n",
+            "1",
+            "2", "2", "2", "1",
+            "4",
+            "5",
+            "8",
+            "9",
+            "3", "2", "1",
+            "2", "9", "3", "3",
+            "6",
+            "7",
+            "0") + "\n";
+
+    public static void run(int rounds) {
+        String[] args = toArgs(PUZZLE);
+        PrintStream out = new PrintStream(OutputStream.nullOutputStream(), false, StandardCharsets.UTF_8);
+        for (int i = 0; i < rounds; i++) {
+            new SudokuGame(args, new ByteArrayInputStream(SCRIPT.getBytes(StandardCharsets.UTF_8)), out).run();
+        }
+        System.out.println("Treino concluído (" + rounds + " partidas).");
+    }
+
+    // "53..7..." -> tokens "col,row;value,true" no formato do ArgsParser
+    static String[] toArgs(String puzzle) {
+        byte[] grid = Grids.parse(puzzle);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (grid[i] != 0) tokens.add((i % Board.SIZE) + "," + (i / Board.SIZE) + ";" + grid[i] + ",true");
+        }
+        return tokens.toArray(new String[0]);
+    }
+}
@@ -0,0 +1,186 @@
+package br.com.dio.sudoku.bench;
+
+import br.com.dio.sudoku.game.SudokuGame;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Reproduz scripts de comandos do menu do SudokuGame (opções 1-9 e seus prompts)
+// em várias threads, o mais rápido possível, e mede jogadas/s e latência por sessão.
+// Jogadas/s conta só o que o jogo aplicou (SudokuGame.appliedMoves), não as linhas do script:
+// uma jogada recusada (célula fixa, já preenchida, índice inválido) não entra na conta.
+//
+// uso: ReplayDriver [--script=arquivo | --generate=jogadas] [--sessions=N] [--threads=N]
+//                   [--warmup=N] [--seed=S] [tokens "col,row;value,fixed" do tabuleiro...]
+//
+// No arquivo de script cada linha é exatamente o que seria digitado no console;
+// uma linha "---" separa sessões diferentes.
+public class ReplayDriver {
+
+    private static final PrintStream NO_OUTPUT = new PrintStream(OutputStream.nullOutputStream());
+
+    public static void main(String[] args) throws Exception {
+        Path scriptFile = null;
+        int generateMoves = 200;
+        int sessions = 10_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int warmup = 1_000;
+        long seed = 42;
+        List<String> boardArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--script=")) scriptFile = Path.of(value(arg));
+            else if (arg.startsWith("--generate=")) generateMoves = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--sessions=")) sessions = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--threads=")) threads = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--warmup=")) warmup = Integer.parseInt(value(arg));
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(value(arg));
+            else boardArgs.add(arg);
+        }
+
+        List<Script> scripts = scriptFile != null
+                ? readScripts(scriptFile)
+                : generateScripts(Math.min(sessions, 256), generateMoves, new Random(seed));
+        String[] board = boardArgs.toArray(new String[0]);
+
+        System.out.printf("Scripts: %d | sessões: %d | threads: %d | aquecimento: %d%n",
+                scripts.size(), sessions, threads, warmup);
+
+        run(scripts, board, warmup, threads);
+        Result r = run(scripts, board, sessions, threads);
+        r.print();
+    }
+
+    private static Result run(List<Script> scripts, String[] board, int sessions, int threads)
+            throws InterruptedException {
+        long[] latencies = new long[sessions];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger moves = new AtomicInteger();
+        AtomicInteger scripted = new AtomicInteger();
+
+        // Java 17 ainda não tem virtual threads: usamos um pool fixo de threads de plataforma
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < sessions) {
+                    Script script = scripts.get(i % scripts.size());
+                    long t0 = System.nanoTime();
+                    SudokuGame game = new SudokuGame(board, new ByteArrayInputStream(script.input), NO_OUTPUT);
+                    game.run();
+                    latencies[i] = System.nanoTime() - t0;
+                    moves.addAndGet(game.appliedMoves());
+                    scripted.addAndGet(script.moves);
+                }
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.DAYS);
+        long elapsed = System.nanoTime() - start;
+
+        return new Result(sessions, moves.get(), scripted.get(), elapsed, latencies);
+    }
+
+    // =========================
+    // Scripts
+    // =========================
+
+    static List<Script> readScripts(Path file) throws IOException {
+        List<Script> scripts = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.trim().equals("---")) {
+                if (current.length() > 0) scripts.add(Script.of(current.toString()));
+                current.setLength(0);
+            } else {
+                current.append(line).append('\n');
+            }
+        }
+        if (current.length() > 0) scripts.add(Script.of(current.toString()));
+        if (scripts.isEmpty()) throw new IllegalArgumentException("Arquivo de script vazio: " + file);
+        return scripts;
+    }
+
+    // sessões aleatórias: inicia o jogo, mistura colocar / remover / desfazer / refazer e sai
+    static List<Script> generateScripts(int count, int movesPerScript, Random rnd) {
+        List<Script> scripts = new ArrayList<>(count);
+        for (int s = 0; s < count; s++) {
+            StringBuilder sb = new StringBuilder("1\n");
+            for (int m = 0; m < movesPerScript; m++) {
+                int p = rnd.nextInt(10);
+                if (p < 6) {
+                    sb.append("2\n").append(1 + rnd.nextInt(9)).append('\n')
+                            .append(rnd.nextInt(9)).append('\n').append(rnd.nextInt(9)).append('\n');
+                } else if (p < 8) {
+                    sb.append("3\n").append(rnd.nextInt(9)).append('\n').append(rnd.nextInt(9)).append('\n');
+                } else if (p < 9) {
+                    sb.append("8\n");
+                } else {
+                    sb.append("9\n");
+                }
+            }
+            sb.append("5\n0\n");
+            scripts.add(Script.of(sb.toString()));
+        }
+        return scripts;
+    }
+
+    private static String value(String arg) {
+        return arg.substring(arg.indexOf('=') + 1);
+    }
+
+    record Script(byte[] input, int moves) {
+        static Script of(String text) {
+            int moves = 0;
+            int pending = 0;
+            // conta só as linhas que são escolhas de menu 2, 3, 8 e 9 (não os prompts seguintes)
+            for (String line : text.split("\n")) {
+                if (pending > 0) {
+                    pending--;
+                    continue;
+                }
+                switch (line.trim()) {
+                    case "2" -> { moves++; pending = 3; }
+                    case "3" -> { moves++; pending = 2; }
+                    case "8", "9" -> moves++;
+                    default -> { }
+                }
+            }
+            return new Script(text.getBytes(StandardCharsets.UTF_8), moves);
+        }
+    }
+
+    // moves = aplicadas pelo jogo; scripted = pedidas no script
+    record Result(int sessions, int moves, int scripted, long elapsedNanos, long[] latencies) {
+        void print() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf("Tempo total: %.3f s%n", seconds);
+            System.out.printf("Jogadas aplicadas: %d de %d no script (%.0f jogadas/s) | sessões/s: %.0f%n",
+                    moves, scripted, moves / seconds, sessions / seconds);
+            System.out.printf("Latência por sessão (µs): p50=%d p90=%d p99=%d p99.9=%d max=%d%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), sorted[sorted.length - 1] / 1_000);
+        }
+
+        private static long percentile(long[] sorted, double p) {
+            int idx = (int) Math.ceil(p * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(idx, sorted.length - 1))] / 1_000;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.dio.sudoku.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Mede o tempo até o primeiro tabuleiro aparecer ("time-to-first-board") em JVMs novas,
+// sem CDS, com o CDS padrão do JDK e com o arquivo AppCDS gerado por scripts/cds-train.sh.
+//
+// uso: StartupBenchmark --archive=arquivo.jsa [--runs=N] [--gui]
+//   terminal: roda br.com.dio.sudoku.Main, inicia o jogo e para quando a grade é impressa
+//   --gui:    roda br.com.dio.sudoku.ui.UiMain --startup-probe (o classpath precisa ter o módulo swing)
+public class StartupBenchmark {
+
+    private static final String CLI_MAIN = "br.com.dio.sudoku.Main";
+    private static final String GUI_MAIN = "br.com.dio.sudoku.ui.UiMain";
+
+    public static void main(String[] args) throws Exception {
+        Path archive = null;
+        int runs = 10;
+        boolean gui = false;
+        for (String arg : args) {
+            if (arg.startsWith("--archive=")) archive = Path.of(arg.substring(10));
+            else if (arg.startsWith("--runs=")) runs = Integer.parseInt(arg.substring(7));
+            else if (arg.equals("--gui")) gui = true;
+        }
+
+        List<String[]> configs = new ArrayList<>();
+        configs.add(new String[]{"sem CDS", "-Xshare:off"});
+        configs.add(new String[]{"CDS do JDK", "-Xshare:auto"});
+        if (archive != null && Files.exists(archive)) {
+            configs.add(new String[]{"AppCDS", "-XX:SharedArchiveFile=" + archive});
+        } else {
+            System.out.println("Arquivo AppCDS não encontrado; rode scripts/cds-train.sh antes.");
+        }
+
+        for (String[] config : configs) {
+            long[] times = new long[runs];
+            measure(config[1], gui); // aquecimento do disco/page cache
+            for (int i = 0; i < runs; i++) times[i] = measure(config[1], gui);
+            Arrays.sort(times);
+            System.out.printf("%-12s mediana=%4d ms  min=%4d ms  max=%4d ms%n",
+                    config[0], times[runs / 2] / 1_000_000, times[0] / 1_000_000, times[runs - 1] / 1_000_000);
+        }
+    }
+
+    private static long measure(String shareFlag, boolean gui) throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> cmd = new ArrayList<>(List.of(java, shareFlag, "-cp", System.getProperty("java.class.path")));
+        if (gui) cmd.addAll(List.of(GUI_MAIN, "--startup-probe"));
+        else cmd.add(CLI_MAIN);
+        String marker = gui ? "first-board" : "+-------+";
+
+        long start = System.nanoTime();
+        Process p = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        if (!gui) {
+            try (OutputStream in = p.getOutputStream()) {
+                in.write("1\n0\n".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        try (BufferedReader out = new BufferedReader(new InputStreamReader(p.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = out.readLine()) != null) {
+                if (line.contains(marker)) {
+                    long elapsed = System.nanoTime() - start;
+                    p.destroy();
+                    p.waitFor(5, TimeUnit.SECONDS);
+                    return elapsed;
+                }
+            }
+        }
+        p.waitFor();
+        throw new IllegalStateException("O processo terminou sem mostrar o tabuleiro: " + String.join(" ", cmd));
+    }
+}
@@ -0,0 +1,400 @@
+package br.com.dio.sudoku.game;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.board.Space;
+import br.com.dio.sudoku.rules.RuleSet;
+import br.com.dio.sudoku.score.Leaderboard;
+import br.com.dio.sudoku.util.ArgsParser;
+import br.com.dio.sudoku.game.SudokuValidator;
+
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+public class SudokuGame {
+
+    private final Board board = new Board();
+    private final Scanner sc;
+    private final PrintStream out;
+    private boolean started = false;
+    private boolean finished = false;
+
+    // undo/redo: guarda jogadas (col,row,valorAnterior,notasAnterior) empacotadas em long
+    private final UndoLog history = UndoLog.fromSystemProperties();
+
+    // avisa quando o tabuleiro deixa de ter solução, mesmo sem conflito direto
+    private final FeasibilityChecker feasibility = new FeasibilityChecker();
+
+    // regras variantes (--rules=diagonal+antiknight...); null = sudoku clássico
+    private final RuleSet rules;
+
+    private final HintEngine hints = new HintEngine();
+
+    // --record=pasta (ou -Dsudoku.record): grava as jogadas para o MoveLogAnalyzer
+    private final MoveRecorder recorder;
+
+    // tempo/jogadas da partida e ranking por puzzle (--player=nome; -Dsudoku.leaderboard=arquivo)
+    private final PlayTimer timer = new PlayTimer();
+    private final Leaderboard leaderboard = Leaderboard.shared();
+    private final String player;
+
+    // jogadas que mudaram o tabuleiro (colocar, remover, desfazer, refazer) em toda a execução
+    private int appliedMoves;
+
+    public SudokuGame(String[] args) {
+        this(args, System.in, System.out);
+    }
+
+    // permite rodar o jogo com entrada/saída de outro lugar (scripts, testes de carga)
+    public SudokuGame(String[] args, InputStream in, PrintStream out) {
+        this.sc = new Scanner(in);
+        this.out = out;
+        this.rules = RuleSet.fromArgs(args);
+        this.recorder = MoveRecorder.fromArgs(args);
+        this.player = playerFromArgs(args);
+        ArgsParser.applyInitialSpaces(board, args);
+    }
+
+    public void run() {
+        while (!finished) {
+            printMenu();
+            String op = readLine("Escolha uma opção: ");
+
+            if (op == null || isQuit(op)) {
+                out.println("Encerrando... até mais!");
+                recorder.close();
+                return;
+            }
+
+            switch (op) {
+                case "1" -> startNewGame();
+                case "2" -> placeNumber();
+                case "3" -> removeNumber();
+                case "4" -> viewGame();
+                case "5" -> statusGame();
+                case "6" -> clearUser();
+                case "7" -> finishGame();
+                case "8" -> undoMove();
+                case "9" -> redoMove();
+                case "10" -> showHint();
+                default -> out.println("Opção inválida.");
+            }
+        }
+        recorder.close();
+    }
+
+    // usado pelo ReplayDriver para medir só o que o jogo realmente aplicou
+    public int appliedMoves() {
+        return appliedMoves;
+    }
+
+    private void printMenu() {
+        out.println();
+        out.println("=== SUDOKU (Terminal) ===");
+        out.println("1. Iniciar novo jogo");
+        out.println("2. Colocar um novo número");
+        out.println("3. Remover um número");
+        out.println("4. Verificar jogo (mostrar tabuleiro)");
+        out.println("5. Verificar status do jogo");
+        out.println("6. Limpar (remove números do usuário, mantém fixos)");
+        out.println("7. Finalizar o jogo");
+        out.println("8. Voltar uma jogada (UNDO)");
+        out.println("9. Refazer jogada desfeita (REDO)");
+        out.println("10. Pedir uma dica");
+        out.println("0. Sair (a qualquer momento)");
+        out.println("Dica: digite 0, sair, exit ou quit quando quiser (nos índices de coluna/linha, só sair/exit/quit).");
+        out.println();
+    }
+
+    private void startNewGame() {
+        started = true;
+        history.clear();
+        recorder.start(board);
+        timer.restart();
+        out.println("Jogo iniciado!");
+        printBoard();
+    }
+
+    private void placeNumber() {
+        if (!ensureStarted()) return;
+
+        String numStr = readLine("Número (1-9) ou 0 para sair: ");
+        if (isQuit(numStr)) return;
+
+        Integer value = parseInt(numStr);
+        if (value == null || value < 1 || value > 9) {
+            out.println("Número inválido.");
+            return;
+        }
+
+        Integer col = askIndex("Índice horizontal (col 0-8) ou 'sair': ");
+        if (col == null) return;
+
+        Integer row = askIndex("Índice vertical (row 0-8) ou 'sair': ");
+        if (row == null) return;
+
+        if (!board.isInside(col, row)) {
+            out.println("Posição fora do tabuleiro.");
+            return;
+        }
+
+        Space space = board.getSpace(col, row);
+        if (space.isFixed()) {
+            out.println("Não pode alterar um número fixo.");
+            return;
+        }
+        if (space.getValue() != null) {
+            out.println("Essa posição já está preenchida. Remova antes para trocar.");
+            return;
+        }
+
+        // salva estado anterior para UNDO
+        history.record(col, row, space, value);
+
+        board.setUserValue(col, row, value);
+        recorder.set(board, col, row);
+        countMove();
+        printBoard();
+        warnIfConflict();
+    }
+
+    private void removeNumber() {
+        if (!ensureStarted()) return;
+
+        Integer col = askIndex("Índice horizontal (col 0-8) ou 'sair': ");
+        if (col == null) return;
+
+        Integer row = askIndex("Índice vertical (row 0-8) ou 'sair': ");
+        if (row == null) return;
+
+        if (!board.isInside(col, row)) {
+            out.println("Posição fora do tabuleiro.");
+            return;
+        }
+
+        Space space = board.getSpace(col, row);
+        if (space.isFixed()) {
+            out.println("Esse número é fixo e não pode ser removido.");
+            return;
+        }
+
+        if (space.getValue() == null) {
+            out.println("Essa posição já está vazia.");
+            return;
+        }
+
+        // salva para UNDO
+        history.record(col, row, space, null);
+
+        board.setUserValue(col, row, null);
+        recorder.set(board, col, row);
+        countMove();
+        printBoard();
+        warnIfConflict();
+    }
+
+    private void viewGame() {
+        if (!ensureStarted()) return;
+        printBoard();
+        warnIfConflict();
+    }
+
+    private void statusGame() {
+        if (!started) {
+            out.println("Status: NÃO INICIADO (sempre sem erro).");
+            return;
+        }
+
+        boolean hasError = hasConflicts();
+
+        String status;
+        if (board.isEmptyAllNonFixed()) status = "NÃO INICIADO";
+        else if (board.isFullyFilled()) status = "COMPLETO";
+        else status = "INCOMPLETO";
+
+        out.println("Status: " + status);
+        out.println("Erros: " + (hasError ? "SIM (há conflitos)" : "NÃO"));
+        out.println("Tempo: " + PlayTimer.format(timer.elapsedMillis()) + " | Jogadas: " + timer.moves());
+    }
+
+    private void clearUser() {
+        if (!ensureStarted()) return;
+        board.clearUserInputs();
+        history.clear(); // limpa histórico porque já não faz sentido desfazer após limpar tudo
+        recorder.clear();
+        out.println("Números do usuário removidos (fixos mantidos).");
+        printBoard();
+    }
+
+    private void finishGame() {
+        if (!ensureStarted()) return;
+
+        if (!board.isFullyFilled()) {
+            out.println("Ainda existem espaços vazios. Preencha todos para finalizar.");
+            return;
+        }
+
+        if (hasConflicts()) {
+            out.println("O tabuleiro está completo, mas contém erros (conflitos). Corrija antes de finalizar.");
+            return;
+        }
+
+        recorder.finish();
+        long millis = timer.stop();
+        Leaderboard.Placement placement = leaderboard.submit(Leaderboard.puzzleKey(board), player, millis, timer.moves());
+        out.println("Parabéns! Sudoku completo e válido ✅");
+        out.println("Tempo: " + PlayTimer.format(millis) + " | Jogadas: " + timer.moves());
+        out.println("Ranking deste puzzle: " + placement.rank() + "º de " + placement.total());
+        printBoard();
+        out.println("Jogo encerrado.");
+        finished = true;
+    }
+
+    private void undoMove() {
+        if (!ensureStarted()) return;
+
+        // restaura valor e notas anteriores
+        long entry = history.undo(board);
+        if (entry == UndoLog.NONE) {
+            out.println("Nada para desfazer.");
+            return;
+        }
+        recorder.undo(board, entry);
+        countMove();
+
+        out.println("Última jogada desfeita.");
+        printBoard();
+        warnIfConflict();
+    }
+
+    private void redoMove() {
+        if (!ensureStarted()) return;
+
+        long entry = history.redo(board);
+        if (entry == UndoLog.NONE) {
+            out.println("Nada para refazer.");
+            return;
+        }
+        recorder.redo(board, entry);
+        countMove();
+
+        out.println("Jogada refeita.");
+        printBoard();
+        warnIfConflict();
+    }
+
+    private void showHint() {
+        if (!ensureStarted()) return;
+        if (rules != null) {
+            out.println("Dicas só estão disponíveis no sudoku clássico.");
+            return;
+        }
+
+        HintEngine.Hint hint = hints.next(board);
+        if (hint == null) {
+            out.println(board.isFullyFilled()
+                    ? "O tabuleiro já está completo."
+                    : "Ainda calculando a solução... peça a dica de novo em instantes.");
+            return;
+        }
+        out.println("Dica (" + hint.technique().label() + "): " + hint.explanation());
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    private boolean ensureStarted() {
+        if (!started) {
+            out.println("Você ainda não iniciou o jogo. Use a opção 1.");
+            return false;
+        }
+        return true;
+    }
+
+    private void countMove() {
+        appliedMoves++;
+        timer.countMove();
+    }
+
+    private static String playerFromArgs(String[] args) {
+        if (args != null) {
+            for (String arg : args) {
+                if (arg != null && arg.startsWith("--player=") && arg.length() > 9) return arg.substring(9);
+            }
+        }
+        return Leaderboard.defaultPlayer();
+    }
+
+    private void warnIfConflict() {
+        if (hasConflicts()) {
+            out.println("⚠ Atenção: há conflitos no tabuleiro!");
+        } else if (rules == null && feasibility.check(board) == FeasibilityChecker.Result.INFEASIBLE) {
+            out.println("⚠ Atenção: o tabuleiro não tem mais solução. Alguma jogada está errada.");
+        }
+    }
+
+    private boolean hasConflicts() {
+        return rules == null ? SudokuValidator.hasConflicts(board) : rules.hasConflicts(board);
+    }
+
+    // retorna null quando a entrada acabou (fim do script ou Ctrl+D)
+    private String readLine(String msg) {
+        out.print(msg);
+        try {
+            return sc.nextLine().trim();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+
+    private boolean isQuit(String s) {
+        if (s == null) return false;
+        s = s.trim().toLowerCase(Locale.ROOT);
+        return s.equals("0") || s.equals("sair") || s.equals("exit") || s.equals("quit");
+    }
+
+    // aqui "0" é a coluna/linha 0; só "sair", "exit" ou "quit" voltam pro menu
+    private Integer askIndex(String prompt) {
+        String s = readLine(prompt);
+        if (s == null) return null;
+        if (!s.equals("0") && isQuit(s)) return null; // volta pro menu sem erro
+
+        Integer v = parseInt(s);
+        if (v == null || v < 0 || v > 8) {
+            out.println("Índice inválido. Use 0 a 8.");
+            return null;
+        }
+        return v;
+    }
+
+    private Integer parseInt(String s) {
+        try {
+            return Integer.parseInt(s.trim());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void printBoard() {
+        out.println();
+        out.println("    0 1 2   3 4 5   6 7 8");
+        out.println("  +-------+-------+-------+");
+        for (int row = 0; row < Board.SIZE; row++) {
+            out.print(row + " | ");
+            for (int col = 0; col < Board.SIZE; col++) {
+                Space space = board.getSpace(col, row);
+                String v = (space.getValue() == null) ? "." : String.valueOf(space.getValue());
+                out.print(v + " ");
+                if (col % 3 == 2) out.print("| ");
+            }
+            out.println();
+            if (row % 3 == 2) {
+                out.println("  +-------+-------+-------+");
+            }
+        }
+        out.println();
+    }
+}
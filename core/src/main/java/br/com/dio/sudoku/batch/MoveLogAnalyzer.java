@@ -0,0 +1,290 @@
+package br.com.dio.sudoku.batch;
+
+import br.com.dio.sudoku.library.Difficulty;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Análise das partidas gravadas pelo MoveRecorder: tempo de solução por puzzle, taxa de undo e as
+// células onde os jogadores mais entram em conflito, para graduar a dificuldade com dados reais.
+//
+// Os arquivos são lidos linha a linha e processados em paralelo (um arquivo por tarefa); cada
+// tarefa soma num acumulador próprio e os acumuladores são juntados no fim. A memória depende só
+// do número de puzzles distintos: os tempos vão para um histograma de faixas fixas (cada faixa
+// 25% maior que a anterior), de onde saem a mediana e o p90 aproximados.
+//
+// uso: MoveLogAnalyzer arquivos-ou-pastas... [--top=20] [--threads=N]
+public class MoveLogAnalyzer {
+
+    private static final int BUCKETS = 96;
+    private static final double GROWTH = 1.25;
+    private static final int TOP_CELLS = 3;
+
+    public static void main(String[] args) throws Exception {
+        List<Path> inputs = new ArrayList<>();
+        int top = 20;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (String arg : args) {
+            if (arg.startsWith("--top=")) top = Integer.parseInt(arg.substring(6));
+            else if (arg.startsWith("--threads=")) threads = Integer.parseInt(arg.substring(10));
+            else inputs.add(Path.of(arg));
+        }
+        if (inputs.isEmpty()) {
+            System.out.println("uso: MoveLogAnalyzer arquivos-ou-pastas... [--top=20] [--threads=N]");
+            return;
+        }
+
+        List<Path> files = logFiles(inputs);
+        long t0 = System.nanoTime();
+        Totals totals = analyze(files, threads);
+        double seconds = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf("%d arquivos, %d eventos, %d partidas em %.3f s (%d linhas inválidas)%n",
+                files.size(), totals.events, totals.sessions(), seconds, totals.malformed);
+        totals.print(top);
+    }
+
+    // pastas entram com todos os *.log dentro delas
+    public static List<Path> logFiles(List<Path> inputs) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path p : inputs) {
+            if (!Files.isDirectory(p)) {
+                files.add(p);
+                continue;
+            }
+            try (Stream<Path> walk = Files.walk(p)) {
+                walk.filter(f -> Files.isRegularFile(f) && f.toString().endsWith(".log")).sorted().forEach(files::add);
+            }
+        }
+        return files;
+    }
+
+    public static Totals analyze(List<Path> files, int threads) throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.submit(() -> files.parallelStream()
+                    .collect(Totals::new, Totals::addFile, Totals::merge)).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // =========================
+    // Acumuladores
+    // =========================
+
+    public static class PuzzleStats {
+        final String puzzle;
+        long sessions;
+        long solved;
+        long moves;      // P e R
+        long undos;
+        long conflicts;  // jogadas (P/U/D) que deixaram a célula em conflito
+        final long[] cellConflicts = new long[81];
+        final long[] solveTimes = new long[BUCKETS];
+
+        PuzzleStats(String puzzle) {
+            this.puzzle = puzzle;
+        }
+
+        void merge(PuzzleStats o) {
+            sessions += o.sessions;
+            solved += o.solved;
+            moves += o.moves;
+            undos += o.undos;
+            conflicts += o.conflicts;
+            for (int i = 0; i < cellConflicts.length; i++) cellConflicts[i] += o.cellConflicts[i];
+            for (int i = 0; i < BUCKETS; i++) solveTimes[i] += o.solveTimes[i];
+        }
+
+        // tempo aproximado (ms) do percentil p (0..1) das partidas concluídas; -1 sem dados
+        public long solveMillis(double p) {
+            if (solved == 0) return -1;
+            long target = (long) Math.ceil(p * solved);
+            long seen = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                seen += solveTimes[b];
+                if (seen >= Math.max(1, target)) return bucketMillis(b);
+            }
+            return bucketMillis(BUCKETS - 1);
+        }
+
+        public double undoRate() {
+            return moves == 0 ? 0 : undos / (double) moves;
+        }
+
+        // pelo tempo mediano; null enquanto ninguém concluiu
+        public Difficulty grade() {
+            long median = solveMillis(0.5);
+            if (median < 0) return null;
+            if (median < 5 * 60_000) return Difficulty.EASY;
+            if (median < 12 * 60_000) return Difficulty.MEDIUM;
+            if (median < 25 * 60_000) return Difficulty.HARD;
+            return Difficulty.EXPERT;
+        }
+    }
+
+    public static class Totals {
+        final Map<String, PuzzleStats> puzzles = new HashMap<>();
+        final long[] cellConflicts = new long[81];
+        long events;
+        long malformed;
+
+        // partida em andamento enquanto o arquivo é lido
+        private PuzzleStats current;
+        private long startMillis;
+        private boolean finished;
+
+        void addFile(Path file) {
+            current = null;
+            try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    if (line.isBlank()) continue;
+                    try {
+                        addEvent(line.trim().split(" "));
+                    } catch (RuntimeException e) {
+                        malformed++;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            current = null;
+        }
+
+        private void addEvent(String[] f) {
+            long millis = Long.parseLong(f[0]);
+            char type = f[1].charAt(0);
+            if (type == 'S') {
+                if (f[2].length() != 81) throw new IllegalArgumentException("puzzle inválido");
+                current = puzzles.computeIfAbsent(f[2], PuzzleStats::new);
+                current.sessions++;
+                startMillis = millis;
+                finished = false;
+                events++;
+                return;
+            }
+            if (current == null) throw new IllegalStateException("evento antes do início da partida");
+            switch (type) {
+                case 'P' -> {
+                    current.moves++;
+                    countConflict(f);
+                }
+                case 'R' -> current.moves++;
+                case 'U' -> {
+                    current.undos++;
+                    countConflict(f);
+                }
+                case 'D' -> countConflict(f);
+                case 'X' -> { }
+                case 'F' -> {
+                    if (!finished) {
+                        finished = true;
+                        current.solved++;
+                        current.solveTimes[bucket(millis - startMillis)]++;
+                    }
+                }
+                default -> throw new IllegalArgumentException("tipo desconhecido: " + type);
+            }
+            events++;
+        }
+
+        private void countConflict(String[] f) {
+            if (!f[4].equals("1")) return;
+            int cell = Integer.parseInt(f[2]);
+            current.conflicts++;
+            current.cellConflicts[cell]++;
+            cellConflicts[cell]++;
+        }
+
+        void merge(Totals o) {
+            o.puzzles.forEach((k, v) -> puzzles.merge(k, v, (a, b) -> {
+                a.merge(b);
+                return a;
+            }));
+            for (int i = 0; i < cellConflicts.length; i++) cellConflicts[i] += o.cellConflicts[i];
+            events += o.events;
+            malformed += o.malformed;
+        }
+
+        public long sessions() {
+            return puzzles.values().stream().mapToLong(p -> p.sessions).sum();
+        }
+
+        public Map<String, PuzzleStats> puzzles() {
+            return puzzles;
+        }
+
+        void print(int top) {
+            List<PuzzleStats> ranked = puzzles.values().stream()
+                    .sorted(Comparator.comparingLong((PuzzleStats p) -> p.sessions).reversed())
+                    .limit(top)
+                    .collect(Collectors.toList());
+
+            System.out.printf("%n%8s %8s %10s %10s %8s %-8s %s%n",
+                    "partidas", "concl.", "mediana", "p90", "undo", "nível", "células com mais conflito");
+            for (PuzzleStats p : ranked) {
+                Difficulty grade = p.grade();
+                System.out.printf("%8d %8d %10s %10s %7.1f%% %-8s %s%n", p.sessions, p.solved,
+                        duration(p.solveMillis(0.5)), duration(p.solveMillis(0.9)), p.undoRate() * 100,
+                        grade == null ? "-" : grade, topCells(p.cellConflicts));
+                System.out.println("         " + p.puzzle);
+            }
+            System.out.println();
+            System.out.println("Células com mais conflito (todas as partidas): " + topCells(cellConflicts));
+        }
+    }
+
+    // =========================
+    // Helpers
+    // =========================
+
+    // faixa b cobre [GROWTH^b - 1, GROWTH^(b+1) - 1) segundos
+    static int bucket(long millis) {
+        double seconds = Math.max(0, millis) / 1000.0;
+        int b = (int) (Math.log(seconds + 1) / Math.log(GROWTH));
+        return Math.min(b, BUCKETS - 1);
+    }
+
+    // meio da faixa, em ms
+    static long bucketMillis(int b) {
+        double low = Math.pow(GROWTH, b) - 1;
+        double high = Math.pow(GROWTH, b + 1) - 1;
+        return Math.round((low + high) / 2 * 1000);
+    }
+
+    private static String duration(long millis) {
+        if (millis < 0) return "-";
+        long s = millis / 1000;
+        return s >= 3600 ? String.format("%dh%02dm", s / 3600, s / 60 % 60) : String.format("%dm%02ds", s / 60, s % 60);
+    }
+
+    private static String topCells(long[] counts) {
+        StringBuilder sb = new StringBuilder();
+        boolean[] used = new boolean[counts.length];
+        for (int k = 0; k < TOP_CELLS; k++) {
+            int best = -1;
+            for (int i = 0; i < counts.length; i++) {
+                if (!used[i] && counts[i] > 0 && (best < 0 || counts[i] > counts[best])) best = i;
+            }
+            if (best < 0) break;
+            used[best] = true;
+            if (sb.length() > 0) sb.append(", ");
+            sb.append("(col ").append(best % 9).append(", row ").append(best / 9).append(") x").append(counts[best]);
+        }
+        return sb.length() == 0 ? "-" : sb.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package br.com.dio.sudoku.batch;
+
+import br.com.dio.sudoku.game.BatchValidator;
+import br.com.dio.sudoku.util.Grids;
+
+// Verifica um bloco de pares (puzzle, solução): respeita os fixos, está completo e sem conflitos.
+// Os tabuleiros que passam nas duas primeiras checagens vão juntos para o BatchValidator.
+public class SolutionVerifier {
+
+    private final BatchValidator validator;
+
+    public SolutionVerifier(BatchValidator validator) {
+        this.validator = validator;
+    }
+
+    public SolutionVerifier() {
+        this(BatchValidator.create());
+    }
+
+    // puzzles/solutions: 'count' tabuleiros de 81 bytes; malformed[i] marca linhas que não foram lidas.
+    // Retorna um byte (ordinal de Verdict) por registro.
+    public byte[] verify(byte[] puzzles, byte[] solutions, boolean[] malformed, int count) {
+        byte[] verdicts = new byte[count];
+        byte[] candidates = new byte[count * Grids.CELLS];
+        int[] candidateIndex = new int[count];
+        int n = 0;
+
+        for (int i = 0; i < count; i++) {
+            Verdict v = malformed[i] ? Verdict.MALFORMED : checkGivensAndCompleteness(puzzles, solutions, i);
+            verdicts[i] = (byte) v.ordinal();
+            if (v == Verdict.VALID) {
+                System.arraycopy(solutions, i * Grids.CELLS, candidates, n * Grids.CELLS, Grids.CELLS);
+                candidateIndex[n++] = i;
+            }
+        }
+
+        boolean[] conflicts = new boolean[n];
+        validator.hasConflicts(candidates, n, conflicts);
+        for (int k = 0; k < n; k++) {
+            if (conflicts[k]) verdicts[candidateIndex[k]] = (byte) Verdict.CONFLICT.ordinal();
+        }
+        return verdicts;
+    }
+
+    public Verdict verify(byte[] puzzle, byte[] solution) {
+        return Verdict.ofOrdinal(verify(puzzle, solution, new boolean[1], 1)[0]);
+    }
+
+    private static Verdict checkGivensAndCompleteness(byte[] puzzles, byte[] solutions, int i) {
+        int offset = i * Grids.CELLS;
+        boolean complete = true;
+        for (int c = offset; c < offset + Grids.CELLS; c++) {
+            byte given = puzzles[c];
+            byte value = solutions[c];
+            if (given != 0 && given != value) return Verdict.GIVEN_CHANGED;
+            if (value == 0) complete = false;
+        }
+        return complete ? Verdict.VALID : Verdict.INCOMPLETE;
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.dio.sudoku.batch;
+
+// Resultado da verificação de um par (puzzle, solução); 'code' é o caractere gravado no arquivo.
+public enum Verdict {
+    VALID('V'),
+    MALFORMED('M'),        // linha fora do formato "puzzle solução"
+    GIVEN_CHANGED('G'),    // a solução não respeita algum número fixo do puzzle
+    INCOMPLETE('I'),       // ainda há espaços vazios
+    CONFLICT('C');         // repetição em linha, coluna ou bloco 3x3
+
+    private static final Verdict[] VALUES = values();
+
+    public final char code;
+
+    Verdict(char code) {
+        this.code = code;
+    }
+
+    public static Verdict ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
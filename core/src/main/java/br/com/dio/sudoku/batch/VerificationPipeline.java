@@ -0,0 +1,137 @@
+package br.com.dio.sudoku.batch;
+
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Verificação em massa de soluções enviadas.
+//
+// Entrada: uma linha por envio, "<puzzle> <solução>", cada um com 81 caracteres (1-9, '.' ou '0').
+// Saída: uma linha por envio, na mesma ordem, com o código de Verdict (V, M, G, I, C).
+//
+// A leitura é feita em blocos que são verificados em paralelo; no máximo 'threads * 2' blocos
+// ficam em processamento ao mesmo tempo (backpressure), então a memória não cresce com o arquivo.
+//
+// uso: VerificationPipeline entrada saida [--threads=N] [--chunk=N]
+public class VerificationPipeline {
+
+    static final int RECORD_LENGTH = Grids.CELLS * 2 + 1;
+
+    private final SolutionVerifier verifier;
+    private final int threads;
+    private final int chunkSize;
+    private final long[] totals = new long[Verdict.values().length];
+
+    public VerificationPipeline(SolutionVerifier verifier, int threads, int chunkSize) {
+        this.verifier = verifier;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("uso: VerificationPipeline entrada saida [--threads=N] [--chunk=N]");
+            return;
+        }
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunk = 4096;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].startsWith("--threads=")) threads = Integer.parseInt(args[i].substring(10));
+            else if (args[i].startsWith("--chunk=")) chunk = Integer.parseInt(args[i].substring(8));
+        }
+
+        VerificationPipeline pipeline = new VerificationPipeline(new SolutionVerifier(), threads, chunk);
+        long t0 = System.nanoTime();
+        long records = pipeline.run(Path.of(args[0]), Path.of(args[1]));
+        double seconds = (System.nanoTime() - t0) / 1e9;
+
+        System.out.printf("%d envios em %.3f s (%.0f/s)%n", records, seconds, records / seconds);
+        for (Verdict v : Verdict.values()) {
+            System.out.printf("  %c %-14s %d%n", v.code, v, pipeline.totals[v.ordinal()]);
+        }
+    }
+
+    public long run(Path input, Path output) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+        int maxInFlight = threads * 2;
+        long records = 0;
+
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter out = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            Chunk chunk;
+            while ((chunk = readChunk(in)) != null) {
+                Chunk c = chunk;
+                inFlight.addLast(pool.submit(() -> verifier.verify(c.puzzles, c.solutions, c.malformed, c.count)));
+                records += chunk.count;
+                if (inFlight.size() >= maxInFlight) write(inFlight.removeFirst(), out);
+            }
+            while (!inFlight.isEmpty()) write(inFlight.removeFirst(), out);
+        } finally {
+            pool.shutdownNow();
+        }
+        return records;
+    }
+
+    private Chunk readChunk(BufferedReader in) throws IOException {
+        Chunk chunk = new Chunk(chunkSize);
+        String line;
+        while (chunk.count < chunkSize && (line = in.readLine()) != null) {
+            if (line.isBlank()) continue;
+            chunk.add(line.trim());
+        }
+        return chunk.count == 0 ? null : chunk;
+    }
+
+    private void write(Future<byte[]> pending, Writer out) throws IOException, InterruptedException {
+        byte[] verdicts;
+        try {
+            verdicts = pending.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao verificar bloco", e.getCause());
+        }
+        for (byte v : verdicts) {
+            totals[v]++;
+            out.write(Verdict.ofOrdinal(v).code);
+            out.write('\n');
+        }
+    }
+
+    public long total(Verdict verdict) {
+        return totals[verdict.ordinal()];
+    }
+
+    private static class Chunk {
+        final byte[] puzzles;
+        final byte[] solutions;
+        final boolean[] malformed;
+        int count;
+
+        Chunk(int size) {
+            puzzles = new byte[size * Grids.CELLS];
+            solutions = new byte[size * Grids.CELLS];
+            malformed = new boolean[size];
+        }
+
+        // "<puzzle><separador><solução>"
+        void add(String line) {
+            int i = count++;
+            boolean ok = line.length() == RECORD_LENGTH
+                    && Grids.parseInto(line.subSequence(0, Grids.CELLS), puzzles, i * Grids.CELLS)
+                    && Grids.parseInto(line.subSequence(Grids.CELLS + 1, RECORD_LENGTH), solutions, i * Grids.CELLS);
+            malformed[i] = !ok;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package br.com.dio.sudoku.bench;
+
+import br.com.dio.sudoku.batch.SolutionVerifier;
+import br.com.dio.sudoku.batch.Verdict;
+import br.com.dio.sudoku.batch.VerificationPipeline;
+import br.com.dio.sudoku.board.ConcurrentBoard;
+import br.com.dio.sudoku.game.BatchValidator;
+import br.com.dio.sudoku.game.FeasibilityChecker;
+import br.com.dio.sudoku.game.SudokuValidator;
+import br.com.dio.sudoku.rules.RuleSet;
+import br.com.dio.sudoku.rules.RuleSolver;
+import br.com.dio.sudoku.solver.BacktrackingSolver;
+import br.com.dio.sudoku.solver.PropagatingSolver;
+import br.com.dio.sudoku.solver.Solutions;
+import br.com.dio.sudoku.solver.Solver;
+import br.com.dio.sudoku.solver.sat.SatSolver;
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+// Confere que todos os validadores e solvers concordam e mede a vazão de cada um na mesma rodada.
+//
+// Tabuleiros aleatórios (com semente): puzzles válidos, soluções completas, puzzles e soluções com
+// uma célula trocada e ruído. As referências são:
+//  - validadores: SudokuValidator.conflictMatrix (por célula, ou só "tem conflito");
+//  - contagem (countSolutions e Solutions.stream paralelo): número de soluções até o limite pelo
+//    BacktrackingSolver, 0 quando a conflictMatrix acusa conflito;
+//  - solve() e FeasibilityChecker: tem solução se essa contagem for > 0, e a solução de solve()
+//    tem de ser completa, manter as dicas e não ter conflito pela conflictMatrix;
+//  - SolutionVerifier / VerificationPipeline: cada tabuleiro é a solução enviada para um puzzle
+//    derivado dele (puzzleFor), e o veredito esperado sai da conflictMatrix e das dicas.
+// Cada motor tem preparação (fora do tempo), a própria operação (a única medida) e a conferência
+// do resultado (fora do tempo). Cada divergência é reduzida (tirando dicas enquanto o erro
+// continua) até um tabuleiro mínimo.
+//
+// uso: DifferentialHarness [--boards=2000] [--seed=42] [--limit=3]
+public class DifferentialHarness {
+
+    private static final int MAX_REPORTED = 5; // divergências mostradas por motor
+    private static final long FEASIBILITY_BUDGET_NANOS = 10_000_000_000L; // sem UNKNOWN na comparação
+    private static final int PIPELINE_CHUNK = 256;
+
+    private enum Kind { CELLS, ANY, COUNT, SOLVE, FEASIBLE, VERDICT }
+
+    // setup: grids -> entrada do motor; run: a operação medida, um resultado bruto por tabuleiro;
+    // check: resultado bruto -> valor comparável com expected
+    private record Engine(String name, Kind kind, Function<byte[][], Object> setup, Function<Object, Object[]> run,
+                          BiFunction<byte[], Object, Object> check) {
+        Object runOne(byte[] grid) {
+            return check.apply(grid, run.apply(setup.apply(new byte[][]{grid}))[0]);
+        }
+    }
+
+    private final int limit;
+    private final Solver reference = new BacktrackingSolver();
+
+    public DifferentialHarness(int limit) {
+        this.limit = limit;
+    }
+
+    public static void main(String[] args) {
+        int boards = 2000;
+        long seed = 42;
+        int limit = 3;
+        for (String arg : args) {
+            if (arg.startsWith("--boards=")) boards = Integer.parseInt(arg.substring(9));
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring(7));
+            else if (arg.startsWith("--limit=")) limit = Integer.parseInt(arg.substring(8));
+        }
+
+        DifferentialHarness harness = new DifferentialHarness(limit);
+        int divergences = harness.run(generate(new Random(seed), boards));
+        if (divergences > 0) {
+            System.out.println(divergences + " divergência(s) - semente " + seed);
+            System.exit(1);
+        }
+        System.out.println("Todos os motores concordam (semente " + seed + ").");
+    }
+
+    public static byte[][] generate(Random rnd, int count) {
+        byte[][] grids = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            byte[] solution = RandomBoards.solved(rnd);
+            grids[i] = switch (i % 5) {
+                case 0 -> RandomBoards.puzzle(rnd, solution, 24 + rnd.nextInt(30));
+                case 1 -> solution;
+                case 2 -> RandomBoards.corrupt(rnd, RandomBoards.puzzle(rnd, solution, 30 + rnd.nextInt(40)));
+                case 3 -> RandomBoards.corrupt(rnd, solution);
+                default -> RandomBoards.noise(rnd, 0.1 + rnd.nextDouble() * 0.3);
+            };
+        }
+        return grids;
+    }
+
+    // devolve o total de divergências
+    public int run(byte[][] grids) {
+        List<Engine> engines = engines();
+
+        Object[][] expected = new Object[Kind.values().length][];
+        for (Kind kind : Kind.values()) {
+            expected[kind.ordinal()] = new Object[grids.length];
+            for (int i = 0; i < grids.length; i++) expected[kind.ordinal()][i] = expected(kind, grids[i]);
+        }
+
+        System.out.printf("%-36s %8s %10s %12s %12s%n", "motor", "tipo", "ms", "tabuleiros/s", "divergências");
+        int total = 0;
+        for (Engine engine : engines) {
+            Object input = engine.setup.apply(grids);
+            engine.run.apply(input); // aquecimento
+            long t0 = System.nanoTime();
+            Object[] raw = engine.run.apply(input);
+            long nanos = System.nanoTime() - t0;
+
+            List<Integer> failures = new ArrayList<>();
+            for (int i = 0; i < grids.length; i++) {
+                Object result = engine.check.apply(grids[i], raw[i]);
+                if (!Objects.equals(result, expected[engine.kind.ordinal()][i])) failures.add(i);
+            }
+            total += failures.size();
+            System.out.printf("%-36s %8s %10.1f %12.0f %12d%n", engine.name, engine.kind, nanos / 1e6,
+                    grids.length / (nanos / 1e9), failures.size());
+
+            for (int k = 0; k < Math.min(MAX_REPORTED, failures.size()); k++) {
+                byte[] minimal = shrink(engine, grids[failures.get(k)]);
+                System.out.println("    mínimo: " + Grids.format(minimal)
+                        + "  esperado=" + expected(engine.kind, minimal) + " obtido=" + engine.runOne(minimal));
+            }
+        }
+        return total;
+    }
+
+    private List<Engine> engines() {
+        List<Engine> list = new ArrayList<>();
+
+        list.add(perBoard("SudokuValidator.hasConflicts", Kind.ANY, g -> SudokuValidator.hasConflicts(Grids.toBoard(g))));
+        for (BatchValidator v : new BatchValidator[]{BatchValidator.scalar(), BatchValidator.vector()}) {
+            list.add(new Engine("BatchValidator " + v.name(), Kind.ANY, DifferentialHarness::pack,
+                    packed -> batch(v, (byte[]) packed), (g, r) -> r));
+        }
+        list.add(perBoard("ConcurrentBoard", Kind.ANY, g -> ConcurrentBoard.from(Grids.toBoard(g)).hasConflicts()));
+        RuleSet standard = RuleSet.standard();
+        list.add(perBoard("RuleSet.standard", Kind.CELLS, g -> cells(standard.conflicts(g))));
+
+        // o BacktrackingSolver é a referência da contagem: só o solve() dele entra na comparação
+        Solver[] others = {new PropagatingSolver(), new SatSolver(), new RuleSolver(standard)};
+        for (Solver s : others) {
+            list.add(perBoard("countSolutions " + s.name(), Kind.COUNT, g -> String.valueOf(s.countSolutions(g, limit))));
+        }
+        // Solutions.count não tem limite (ruído esparso tem soluções demais): conta pelo stream paralelo
+        list.add(perBoard("Solutions.stream paralelo", Kind.COUNT,
+                g -> String.valueOf(Solutions.stream(Grids.toBoard(g), true).unordered().limit(limit).count())));
+        for (Solver s : new Solver[]{reference, others[0], others[1], others[2]}) {
+            list.add(new Engine("solve " + s.name(), Kind.SOLVE, grids -> grids,
+                    grids -> each((byte[][]) grids, s::solve), (g, r) -> solveResult(g, (byte[]) r)));
+        }
+        list.add(new Engine("FeasibilityChecker", Kind.FEASIBLE, grids -> grids, grids -> {
+            FeasibilityChecker checker = new FeasibilityChecker(FEASIBILITY_BUDGET_NANOS); // caches valem na rodada
+            return each((byte[][]) grids, checker::check);
+        }, (g, r) -> r));
+
+        SolutionVerifier verifier = new SolutionVerifier();
+        list.add(new Engine("SolutionVerifier", Kind.VERDICT, DifferentialHarness::pairs, pairs -> {
+            byte[][] p = (byte[][]) pairs;
+            int count = p[0].length / Grids.CELLS;
+            byte[] verdicts = verifier.verify(p[0], p[1], new boolean[count], count);
+            Object[] out = new Object[count];
+            for (int i = 0; i < count; i++) out[i] = Verdict.ofOrdinal(verdicts[i]);
+            return out;
+        }, (g, r) -> r));
+        VerificationPipeline pipeline = new VerificationPipeline(verifier, Runtime.getRuntime().availableProcessors(),
+                PIPELINE_CHUNK);
+        list.add(new Engine("VerificationPipeline", Kind.VERDICT, DifferentialHarness::pipelineInput,
+                files -> runPipeline(pipeline, (Path[]) files), (g, r) -> r));
+        return list;
+    }
+
+    private static Engine perBoard(String name, Kind kind, Function<byte[], Object> one) {
+        return new Engine(name, kind, grids -> grids, grids -> each((byte[][]) grids, one), (g, r) -> r);
+    }
+
+    private static Object[] each(byte[][] grids, Function<byte[], Object> one) {
+        Object[] out = new Object[grids.length];
+        for (int i = 0; i < grids.length; i++) out[i] = one.apply(grids[i]);
+        return out;
+    }
+
+    private static byte[] pack(byte[][] grids) {
+        byte[] packed = new byte[grids.length * Grids.CELLS];
+        for (int i = 0; i < grids.length; i++) System.arraycopy(grids[i], 0, packed, i * Grids.CELLS, Grids.CELLS);
+        return packed;
+    }
+
+    private static Object[] batch(BatchValidator v, byte[] packed) {
+        boolean[] flags = v.hasConflicts(packed, packed.length / Grids.CELLS);
+        Object[] out = new Object[flags.length];
+        for (int i = 0; i < flags.length; i++) out[i] = flags[i];
+        return out;
+    }
+
+    // {puzzles, soluções} concatenados: cada tabuleiro é a solução enviada para puzzleFor(tabuleiro)
+    private static byte[][] pairs(byte[][] grids) {
+        byte[][] puzzles = new byte[grids.length][];
+        for (int i = 0; i < grids.length; i++) puzzles[i] = puzzleFor(grids[i]);
+        return new byte[][]{pack(puzzles), pack(grids)};
+    }
+
+    // puzzle determinístico a partir do tabuleiro: as dicas são as células preenchidas em posições
+    // múltiplas de 3; em ~1/4 dos tabuleiros a primeira dica é trocada (a solução "muda um fixo")
+    private static byte[] puzzleFor(byte[] grid) {
+        byte[] puzzle = new byte[Grids.CELLS];
+        for (int i = 0; i < Grids.CELLS; i += 3) puzzle[i] = grid[i];
+        if ((Arrays.hashCode(grid) & 3) == 0) {
+            for (int i = 0; i < Grids.CELLS; i += 3) {
+                if (puzzle[i] != 0) {
+                    puzzle[i] = (byte) (puzzle[i] % 9 + 1);
+                    break;
+                }
+            }
+        }
+        return puzzle;
+    }
+
+    // arquivos temporários de entrada e saída; a entrada é escrita aqui, fora do tempo medido
+    private static Path[] pipelineInput(byte[][] grids) {
+        try {
+            Path in = Files.createTempFile("sudoku-harness", ".in");
+            Path out = Files.createTempFile("sudoku-harness", ".out");
+            in.toFile().deleteOnExit();
+            out.toFile().deleteOnExit();
+            StringBuilder sb = new StringBuilder(grids.length * (Grids.CELLS * 2 + 2));
+            for (byte[] g : grids) sb.append(Grids.format(puzzleFor(g))).append(' ').append(Grids.format(g)).append('\n');
+            Files.writeString(in, sb, StandardCharsets.UTF_8);
+            return new Path[]{in, out};
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Object[] runPipeline(VerificationPipeline pipeline, Path[] files) {
+        try {
+            pipeline.run(files[0], files[1]);
+            List<String> codes = Files.readAllLines(files[1], StandardCharsets.US_ASCII);
+            Object[] out = new Object[codes.size()];
+            for (int i = 0; i < out.length; i++) out[i] = verdictOf(codes.get(i).charAt(0));
+            return out;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Verdict verdictOf(char code) {
+        for (Verdict v : Verdict.values()) {
+            if (v.code == code) return v;
+        }
+        throw new IllegalArgumentException("Veredito desconhecido: " + code);
+    }
+
+    private Object expected(Kind kind, byte[] grid) {
+        boolean[][] m = SudokuValidator.conflictMatrix(Grids.toBoard(grid));
+        boolean[] flat = new boolean[Grids.CELLS];
+        boolean any = false;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            flat[i] = m[i / 9][i % 9];
+            any |= flat[i];
+        }
+        return switch (kind) {
+            case CELLS -> cells(flat);
+            case ANY -> any;
+            case COUNT -> any ? "0" : String.valueOf(reference.countSolutions(grid, limit));
+            case SOLVE -> !any && reference.countSolutions(grid, 1) > 0 ? "ok" : "sem solução";
+            case FEASIBLE -> !any && reference.countSolutions(grid, 1) > 0
+                    ? FeasibilityChecker.Result.FEASIBLE : FeasibilityChecker.Result.INFEASIBLE;
+            case VERDICT -> expectedVerdict(puzzleFor(grid), grid, any);
+        };
+    }
+
+    private static Verdict expectedVerdict(byte[] puzzle, byte[] solution, boolean conflict) {
+        boolean complete = true;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (puzzle[i] != 0 && puzzle[i] != solution[i]) return Verdict.GIVEN_CHANGED;
+            if (solution[i] == 0) complete = false;
+        }
+        if (!complete) return Verdict.INCOMPLETE;
+        return conflict ? Verdict.CONFLICT : Verdict.VALID;
+    }
+
+    // "ok" se a solução de solve() é completa, mantém as dicas e não tem conflito
+    private static String solveResult(byte[] grid, byte[] solution) {
+        if (solution == null) return "sem solução";
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (solution[i] == 0) return "solução incompleta";
+            if (grid[i] != 0 && grid[i] != solution[i]) return "solução muda uma dica";
+        }
+        if (SudokuValidator.hasConflicts(Grids.toBoard(solution))) return "solução com conflito";
+        return "ok";
+    }
+
+    private static String cells(boolean[] flags) {
+        StringBuilder sb = new StringBuilder(Grids.CELLS);
+        for (boolean f : flags) sb.append(f ? 'x' : '.');
+        return sb.toString();
+    }
+
+    // tira dicas uma a uma enquanto o motor continuar divergindo, até nenhuma remoção manter o erro
+    private byte[] shrink(Engine engine, byte[] grid) {
+        byte[] current = grid.clone();
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (int i = 0; i < Grids.CELLS; i++) {
+                if (current[i] == 0) continue;
+                byte saved = current[i];
+                current[i] = 0;
+                if (!Objects.equals(engine.runOne(current), expected(engine.kind, current))) {
+                    progress = true;
+                } else {
+                    current[i] = saved;
+                }
+            }
+        }
+        return current;
+    }
+}
@@ -0,0 +1,78 @@
+package br.com.dio.sudoku.bench;
+
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.Random;
+
+// Gera tabuleiros aleatórios (reprodutíveis pela semente) para benchmarks e comparações.
+public class RandomBoards {
+
+    // solução completa e válida: padrão base embaralhado (dígitos, linhas/colunas dentro das
+    // faixas, faixas inteiras e transposição preservam a validade)
+    public static byte[] solved(Random rnd) {
+        int[] digits = permutation(rnd, 9);
+        int[] rows = bandPermutation(rnd);
+        int[] cols = bandPermutation(rnd);
+        boolean transpose = rnd.nextBoolean();
+
+        byte[] grid = new byte[Grids.CELLS];
+        for (int r = 0; r < 9; r++) {
+            for (int c = 0; c < 9; c++) {
+                int br = rows[r];
+                int bc = cols[c];
+                int base = (br * 3 + br / 3 + bc) % 9;
+                int idx = transpose ? Grids.index(r, c) : Grids.index(c, r);
+                grid[idx] = (byte) (digits[base] + 1);
+            }
+        }
+        return grid;
+    }
+
+    // apaga células da solução até sobrarem 'clues' dicas (não garante solução única)
+    public static byte[] puzzle(Random rnd, byte[] solution, int clues) {
+        byte[] grid = solution.clone();
+        int[] order = permutation(rnd, Grids.CELLS);
+        for (int i = 0; i < Grids.CELLS - clues; i++) grid[order[i]] = 0;
+        return grid;
+    }
+
+    // troca o valor de uma célula preenchida (normalmente gera conflito)
+    public static byte[] corrupt(Random rnd, byte[] grid) {
+        byte[] copy = grid.clone();
+        int cell = rnd.nextInt(Grids.CELLS);
+        copy[cell] = (byte) (1 + rnd.nextInt(9));
+        return copy;
+    }
+
+    // mistura células vazias, valores válidos e repetições aleatórias
+    public static byte[] noise(Random rnd, double fill) {
+        byte[] grid = new byte[Grids.CELLS];
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (rnd.nextDouble() < fill) grid[i] = (byte) (1 + rnd.nextInt(9));
+        }
+        return grid;
+    }
+
+    static int[] permutation(Random rnd, int n) {
+        int[] p = new int[n];
+        for (int i = 0; i < n; i++) p[i] = i;
+        for (int i = n - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = p[i];
+            p[i] = p[j];
+            p[j] = t;
+        }
+        return p;
+    }
+
+    // permutação de 0..8 que só troca faixas de 3 entre si e linhas dentro da mesma faixa
+    private static int[] bandPermutation(Random rnd) {
+        int[] bands = permutation(rnd, 3);
+        int[] out = new int[9];
+        for (int b = 0; b < 3; b++) {
+            int[] inner = permutation(rnd, 3);
+            for (int i = 0; i < 3; i++) out[b * 3 + i] = bands[b] * 3 + inner[i];
+        }
+        return out;
+    }
+}
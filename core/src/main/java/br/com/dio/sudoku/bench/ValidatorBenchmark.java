@@ -0,0 +1,68 @@
+package br.com.dio.sudoku.bench;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.game.BatchValidator;
+import br.com.dio.sudoku.game.SudokuValidator;
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.Random;
+
+// Compara SudokuValidator.hasConflicts (um Board por vez) com os validadores em lote.
+// Confere também que todos dão exatamente o mesmo resultado.
+//
+// uso: java --add-modules jdk.incubator.vector ... ValidatorBenchmark [tabuleiros] [semente]
+public class ValidatorBenchmark {
+
+    private static final int WARMUP_ROUNDS = 10;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+
+        Random rnd = new Random(seed);
+        byte[] grids = new byte[count * Grids.CELLS];
+        for (int i = 0; i < count; i++) {
+            byte[] g = switch (i % 3) {
+                case 0 -> RandomBoards.solved(rnd);
+                case 1 -> RandomBoards.corrupt(rnd, RandomBoards.solved(rnd));
+                default -> RandomBoards.noise(rnd, 0.4);
+            };
+            System.arraycopy(g, 0, grids, i * Grids.CELLS, Grids.CELLS);
+        }
+
+        Board[] boards = new Board[count];
+        byte[] one = new byte[Grids.CELLS];
+        for (int i = 0; i < count; i++) {
+            System.arraycopy(grids, i * Grids.CELLS, one, 0, Grids.CELLS);
+            boards[i] = Grids.toBoard(one);
+        }
+
+        boolean[] expected = new boolean[count];
+        long t0 = System.nanoTime();
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < count; i++) expected[i] = SudokuValidator.hasConflicts(boards[i]);
+        }
+        report("SudokuValidator", count, (System.nanoTime() - t0) / 3);
+
+        for (BatchValidator v : new BatchValidator[]{BatchValidator.scalar(), BatchValidator.vector()}) {
+            boolean[] out = new boolean[count];
+            // aquecimento: a Vector API só fica rápida depois de compilada pelo C2
+            for (int round = 0; round < WARMUP_ROUNDS; round++) v.hasConflicts(grids, count, out);
+            long t1 = System.nanoTime();
+            for (int round = 0; round < 3; round++) v.hasConflicts(grids, count, out);
+            report(v.name(), count, (System.nanoTime() - t1) / 3);
+
+            for (int i = 0; i < count; i++) {
+                if (out[i] != expected[i]) {
+                    throw new IllegalStateException(v.name() + " divergiu no tabuleiro " + i + ": "
+                            + Grids.format(Grids.fromBoard(boards[i])));
+                }
+            }
+        }
+        System.out.println("Resultados idênticos ao SudokuValidator.");
+    }
+
+    private static void report(String name, int count, long nanos) {
+        System.out.printf("%-24s %10.0f tabuleiros/s%n", name, count / (nanos / 1e9));
+    }
+}
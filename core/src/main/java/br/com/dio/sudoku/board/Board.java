@@ -1,11 +1,21 @@
 package br.com.dio.sudoku.board;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class Board {
 
     public static final int SIZE = 9;
 
     private final Space[][] grid = new Space[SIZE][SIZE];
 
+    // avisados uma vez por load(), depois que o tabuleiro inteiro foi trocado
+    public interface LoadListener {
+        void boardLoaded(Board board);
+    }
+
+    private final List<LoadListener> listeners = new ArrayList<>();
+
     public Board() {
         for (int row = 0; row < SIZE; row++) {
             for (int col = 0; col < SIZE; col++) {
@@ -65,4 +75,30 @@ public class Board {
         }
         return true;
     }
+
+    // troca o puzzle inteiro de uma vez: givens em ordem de linha (row * 9 + col), 0 = vazio.
+    // Valores do usuário e notas são descartados; os listeners recebem um único aviso no fim.
+    public void load(byte[] givens) {
+        if (givens.length != SIZE * SIZE) {
+            throw new IllegalArgumentException("Esperado " + SIZE * SIZE + " células, recebido " + givens.length);
+        }
+        for (byte v : givens) {
+            if (v < 0 || v > 9) throw new IllegalArgumentException("Valor inválido no puzzle: " + v);
+        }
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                int v = givens[row * SIZE + col];
+                grid[row][col] = v == 0 ? new Space(null, false) : new Space(v, true);
+            }
+        }
+        for (LoadListener l : List.copyOf(listeners)) l.boardLoaded(this);
+    }
+
+    public void addLoadListener(LoadListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeLoadListener(LoadListener listener) {
+        listeners.remove(listener);
+    }
 }
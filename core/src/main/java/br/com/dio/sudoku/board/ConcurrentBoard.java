@@ -0,0 +1,247 @@
+package br.com.dio.sudoku.board;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Tabuleiro para uso compartilhado entre threads (modo cooperativo, dicas em segundo plano...).
+//
+// Cada célula é um long num AtomicLongArray e toda alteração é um CAS, sem lock global:
+//   [0..3] valor (0 = vazio) | [4] fixo | [5..13] notas (bit d-1) | [32..63] versão da célula
+// Cada unidade (9 linhas, 9 colunas, 9 blocos) guarda num int por dígito quantas vezes ele aparece,
+// atualizado com getAndAdd. O contador do dígito novo é incrementado antes do CAS e o do antigo
+// decrementado depois, então nunca fica negativo; por um instante pode contar uma jogada que ainda
+// vai falhar. São no máximo 9 valores + 1 por escritor em andamento, por isso um int por dígito e
+// não campos estreitos empacotados: não estoura com qualquer número de threads. Para uma visão
+// consistente use snapshot().
+public class ConcurrentBoard {
+
+    public static final int SIZE = Board.SIZE;
+
+    private static final int CELLS = SIZE * SIZE;
+    private static final long VALUE_MASK = 0xFL;
+    private static final long FIXED_BIT = 1L << 4;
+    private static final int NOTES_SHIFT = 5;
+    private static final long NOTES_MASK = 0x1FFL << NOTES_SHIFT;
+    private static final int VERSION_SHIFT = 32;
+    private static final long VERSION_ONE = 1L << VERSION_SHIFT;
+
+    private final AtomicLongArray cells = new AtomicLongArray(CELLS);
+    // contador do dígito d na unidade u em u * 9 + d - 1; unidades 0-8 linhas, 9-17 colunas, 18-26 blocos
+    private final AtomicIntegerArray units = new AtomicIntegerArray(27 * 9);
+
+    public static ConcurrentBoard from(Board board) {
+        ConcurrentBoard cb = new ConcurrentBoard();
+        for (int row = 0; row < SIZE; row++) {
+            for (int col = 0; col < SIZE; col++) {
+                Space s = board.getSpace(col, row);
+                if (s.getValue() == null) continue;
+                if (s.isFixed()) cb.setFixed(col, row, s.getValue());
+                else cb.setUserValue(col, row, s.getValue());
+            }
+        }
+        return cb;
+    }
+
+    // =========================
+    // Leitura
+    // =========================
+
+    public Integer getValue(int col, int row) {
+        int v = value(cells.get(row * SIZE + col));
+        return v == 0 ? null : v;
+    }
+
+    public boolean isFixed(int col, int row) {
+        return (cells.get(row * SIZE + col) & FIXED_BIT) != 0;
+    }
+
+    public int getNotesMask(int col, int row) {
+        return notes(cells.get(row * SIZE + col));
+    }
+
+    // dígitos presentes na unidade (bit d-1)
+    public int unitMask(int unit) {
+        int mask = 0;
+        for (int d = 0; d < 9; d++) {
+            if (units.get(unit * 9 + d) != 0) mask |= 1 << d;
+        }
+        return mask;
+    }
+
+    public int rowMask(int row) {
+        return unitMask(row);
+    }
+
+    public int colMask(int col) {
+        return unitMask(9 + col);
+    }
+
+    public int boxMask(int col, int row) {
+        return unitMask(18 + box(col, row));
+    }
+
+    // dígitos que ainda podem ir em (col,row) sem repetir na linha, coluna ou bloco
+    public int candidates(int col, int row) {
+        return ~(rowMask(row) | colMask(col) | boxMask(col, row)) & 0x1FF;
+    }
+
+    // algum dígito repetido em alguma unidade (pelos contadores, sem varrer as células)
+    public boolean hasConflicts() {
+        for (int i = 0; i < units.length(); i++) {
+            if (units.get(i) > 1) return true;
+        }
+        return false;
+    }
+
+    // =========================
+    // Escrita
+    // =========================
+
+    public void setFixed(int col, int row, int value) {
+        write(col, row, value, true, false, null);
+    }
+
+    // false se a célula for fixa; limpa as notas, como Board.setUserValue
+    public boolean setUserValue(int col, int row, Integer value) {
+        return write(col, row, value == null ? 0 : value, false, true, null);
+    }
+
+    // só altera se o valor atual for 'expected' (null = vazio)
+    public boolean compareAndSetValue(int col, int row, Integer expected, Integer value) {
+        return write(col, row, value == null ? 0 : value, false, true, expected == null ? 0 : expected);
+    }
+
+    public boolean setNotesMask(int col, int row, int mask) {
+        int i = row * SIZE + col;
+        while (true) {
+            long cur = cells.get(i);
+            if ((cur & FIXED_BIT) != 0) return false;
+            long next = ((cur & ~NOTES_MASK) | ((long) (mask & 0x1FF) << NOTES_SHIFT)) + VERSION_ONE;
+            if (cells.compareAndSet(i, cur, next)) return true;
+        }
+    }
+
+    private boolean write(int col, int row, int value, boolean fixed, boolean respectFixed, Integer expected) {
+        if (value < 0 || value > 9) throw new IllegalArgumentException("Valor fora de 1-9: " + value);
+        int i = row * SIZE + col;
+        int b = box(col, row);
+        while (true) {
+            long cur = cells.get(i);
+            if (respectFixed && (cur & FIXED_BIT) != 0) return false;
+            int old = value(cur);
+            if (expected != null && old != expected) return false;
+
+            long next = (cur & ~(VALUE_MASK | FIXED_BIT | NOTES_MASK)) + VERSION_ONE
+                    | value | (fixed ? FIXED_BIT : 0);
+
+            adjust(row, col, b, value, +1);
+            if (cells.compareAndSet(i, cur, next)) {
+                adjust(row, col, b, old, -1);
+                return true;
+            }
+            adjust(row, col, b, value, -1); // perdeu a corrida: desfaz e tenta de novo
+        }
+    }
+
+    private void adjust(int row, int col, int box, int digit, int delta) {
+        if (digit == 0) return;
+        int d = digit - 1;
+        units.getAndAdd(row * 9 + d, delta);
+        units.getAndAdd((9 + col) * 9 + d, delta);
+        units.getAndAdd((18 + box) * 9 + d, delta);
+    }
+
+    // =========================
+    // Snapshot
+    // =========================
+
+    // lê as 81 células duas vezes até as versões baterem (double collect): o resultado é um
+    // estado que existiu de fato, e o stamp muda sempre que qualquer célula muda
+    public Snapshot snapshot() {
+        long[] a = new long[CELLS];
+        long[] b = new long[CELLS];
+        for (int i = 0; i < CELLS; i++) a[i] = cells.get(i);
+        while (true) {
+            boolean same = true;
+            for (int i = 0; i < CELLS; i++) {
+                b[i] = cells.get(i);
+                if (b[i] != a[i]) same = false;
+            }
+            if (same) return new Snapshot(b);
+            long[] t = a;
+            a = b;
+            b = t;
+        }
+    }
+
+    // soma das versões das células; igual em duas leituras = nada mudou entre elas
+    public long stamp() {
+        long stamp = 0;
+        for (int i = 0; i < CELLS; i++) stamp += cells.get(i) >>> VERSION_SHIFT;
+        return stamp;
+    }
+
+    public static final class Snapshot {
+        private final long[] cells;
+        private final long stamp;
+
+        private Snapshot(long[] cells) {
+            this.cells = cells;
+            long s = 0;
+            for (long c : cells) s += c >>> VERSION_SHIFT;
+            this.stamp = s;
+        }
+
+        public long stamp() {
+            return stamp;
+        }
+
+        public Integer getValue(int col, int row) {
+            int v = value(cells[row * SIZE + col]);
+            return v == 0 ? null : v;
+        }
+
+        public boolean isFixed(int col, int row) {
+            return (cells[row * SIZE + col] & FIXED_BIT) != 0;
+        }
+
+        public int getNotesMask(int col, int row) {
+            return notes(cells[row * SIZE + col]);
+        }
+
+        // byte[81] no formato de Grids
+        public byte[] grid() {
+            byte[] grid = new byte[CELLS];
+            for (int i = 0; i < CELLS; i++) grid[i] = (byte) value(cells[i]);
+            return grid;
+        }
+
+        public Board toBoard() {
+            Board board = new Board();
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    Integer v = getValue(col, row);
+                    if (v != null && isFixed(col, row)) {
+                        board.setFixed(col, row, v);
+                        continue;
+                    }
+                    board.setUserValue(col, row, v);
+                    board.getSpace(col, row).setNotesMask(getNotesMask(col, row));
+                }
+            }
+            return board;
+        }
+    }
+
+    private static int value(long cell) {
+        return (int) (cell & VALUE_MASK);
+    }
+
+    private static int notes(long cell) {
+        return (int) ((cell & NOTES_MASK) >>> NOTES_SHIFT);
+    }
+
+    private static int box(int col, int row) {
+        return (row / 3) * 3 + col / 3;
+    }
+}
@@ -29,4 +29,20 @@ public class Space {
     public Set<Integer> getNotes() {
         return notes;
     }
+
+    // notas como máscara de bits: bit (d - 1) ligado = nota d presente
+    public int getNotesMask() {
+        int mask = 0;
+        for (Integer n : notes) {
+            if (n != null && n >= 1 && n <= 9) mask |= 1 << (n - 1);
+        }
+        return mask;
+    }
+
+    public void setNotesMask(int mask) {
+        notes.clear();
+        for (int d = 1; d <= 9; d++) {
+            if ((mask & (1 << (d - 1))) != 0) notes.add(d);
+        }
+    }
 }
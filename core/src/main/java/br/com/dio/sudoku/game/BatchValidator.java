@@ -0,0 +1,98 @@
+package br.com.dio.sudoku.game;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.Arrays;
+
+// Validação em lote: verifica muitos tabuleiros completos ou parciais de uma vez.
+//
+// Os tabuleiros chegam concatenados num byte[] (81 bytes cada, ver Grids) e o resultado de cada
+// um é exatamente o de SudokuValidator.hasConflicts.
+//
+// create() devolve a versão escalar: a SIMD (VectorBatchValidator) só ganha depois que o C2
+// compila a Vector API — aquecida, em lotes grandes, fica ~2,5-4x à frente (ValidatorBenchmark,
+// AVX-512); fria, no primeiro lote grande, fica várias vezes atrás. Com
+// -Dsudoku.validator=vector e java --add-modules jdk.incubator.vector, create() usa a SIMD.
+public abstract class BatchValidator {
+
+    private static final String VECTOR_IMPL = "br.com.dio.sudoku.game.VectorBatchValidator";
+
+    public static BatchValidator create() {
+        return "vector".equals(System.getProperty("sudoku.validator")) ? vector() : scalar();
+    }
+
+    // SIMD quando jdk.incubator.vector está disponível; senão, a escalar
+    public static BatchValidator vector() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (BatchValidator) Class.forName(VECTOR_IMPL).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // sem suporte em tempo de execução: cai para a versão escalar
+            }
+        }
+        return scalar();
+    }
+
+    public static BatchValidator scalar() {
+        return new ScalarBatchValidator();
+    }
+
+    public abstract String name();
+
+    // out[i] = true se o tabuleiro i (grids[i*81 .. i*81+80]) tiver conflitos
+    public abstract void hasConflicts(byte[] grids, int count, boolean[] out);
+
+    public boolean[] hasConflicts(byte[] grids, int count) {
+        boolean[] out = new boolean[count];
+        hasConflicts(grids, count, out);
+        return out;
+    }
+
+    public boolean hasConflicts(Board board) {
+        boolean[] out = new boolean[1];
+        hasConflicts(Grids.fromBoard(board), 1, out);
+        return out[0];
+    }
+
+    // bit do dígito v (0 = vazio não tem bit)
+    static int digitBit(byte v) {
+        return (1 << v) >>> 1;
+    }
+
+    static final class ScalarBatchValidator extends BatchValidator {
+
+        @Override
+        public String name() {
+            return "escalar";
+        }
+
+        @Override
+        public void hasConflicts(byte[] grids, int count, boolean[] out) {
+            int[] rows = new int[9];
+            int[] cols = new int[9];
+            int[] boxes = new int[9];
+            for (int g = 0; g < count; g++) {
+                out[g] = hasConflicts(grids, g * Grids.CELLS, rows, cols, boxes);
+            }
+        }
+
+        private static boolean hasConflicts(byte[] grids, int offset, int[] rows, int[] cols, int[] boxes) {
+            Arrays.fill(rows, 0);
+            Arrays.fill(cols, 0);
+            Arrays.fill(boxes, 0);
+            int dup = 0;
+            for (int i = 0; i < Grids.CELLS; i++) {
+                int bit = digitBit(grids[offset + i]);
+                int r = i / 9;
+                int c = i % 9;
+                int b = (r / 3) * 3 + c / 3;
+                dup |= (rows[r] & bit) | (cols[c] & bit) | (boxes[b] & bit);
+                rows[r] |= bit;
+                cols[c] |= bit;
+                boxes[b] |= bit;
+            }
+            return dup != 0;
+        }
+    }
+}
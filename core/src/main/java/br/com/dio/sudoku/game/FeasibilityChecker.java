@@ -0,0 +1,111 @@
+package br.com.dio.sudoku.game;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.solver.PropagatingSolver;
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Diz, depois de cada jogada, se o tabuleiro ainda tem solução (e não só se há conflito direto).
+//
+// Para caber no tempo de uma tecla (~2 ms) usa dois caches antes de buscar:
+//  - a última solução encontrada: se todos os valores do tabuleiro batem com ela, continua viável
+//    (é o caso comum: a jogada foi certa) e a checagem é só uma comparação de 81 bytes;
+//  - o último tabuleiro sem saída: se o atual contém todos os valores dele, também não tem saída.
+// Fora disso roda o PropagatingSolver com prazo. Se o prazo acaba a resposta é UNKNOWN e a mesma
+// busca continua sem prazo numa thread de fundo, deixando o resultado nos caches para a próxima.
+public class FeasibilityChecker {
+
+    public enum Result { FEASIBLE, INFEASIBLE, UNKNOWN }
+
+    public static final long DEFAULT_BUDGET_NANOS = 2_000_000;
+
+    private final PropagatingSolver solver = new PropagatingSolver();
+    private final long budgetNanos;
+
+    private volatile byte[] solution;   // solução de algum tabuleiro recente
+    private volatile byte[] deadEnd;    // tabuleiro recente comprovadamente sem solução
+
+    private final AtomicBoolean backgroundBusy = new AtomicBoolean();
+    private ExecutorService background;
+
+    public FeasibilityChecker() {
+        this(DEFAULT_BUDGET_NANOS);
+    }
+
+    public FeasibilityChecker(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public Result check(Board board) {
+        return check(Grids.fromBoard(board));
+    }
+
+    public Result check(byte[] grid) {
+        return check(grid, System.nanoTime() + budgetNanos);
+    }
+
+    // com o prazo de quem chama (ex.: o que sobrou do pedido de dica), em vez do orçamento próprio
+    public Result check(byte[] grid, long deadlineNanos) {
+        byte[] known = solution;
+        if (known != null && agrees(grid, known)) return Result.FEASIBLE;
+        byte[] dead = deadEnd;
+        if (dead != null && agrees(dead, grid)) return Result.INFEASIBLE;
+
+        byte[] found = new byte[Grids.CELLS];
+        int n = solver.search(grid, 1, deadlineNanos, found);
+        if (n == PropagatingSolver.TIMED_OUT) {
+            continueInBackground(grid.clone());
+            return Result.UNKNOWN;
+        }
+        remember(grid, n == 1 ? found : null);
+        return n == 1 ? Result.FEASIBLE : Result.INFEASIBLE;
+    }
+
+    // uma solução completa do último tabuleiro viável (null se ainda não houver); não altere
+    public byte[] lastSolution() {
+        return solution;
+    }
+
+    // esquece os caches (outro puzzle foi carregado)
+    public void reset() {
+        solution = null;
+        deadEnd = null;
+    }
+
+    // todo valor preenchido em 'partial' é igual ao de 'full' na mesma célula
+    private static boolean agrees(byte[] partial, byte[] full) {
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (partial[i] != 0 && partial[i] != full[i]) return false;
+        }
+        return true;
+    }
+
+    private void remember(byte[] grid, byte[] found) {
+        if (found != null) solution = found;
+        else deadEnd = grid.clone();
+    }
+
+    private void continueInBackground(byte[] grid) {
+        if (!backgroundBusy.compareAndSet(false, true)) return; // já tem uma busca rodando
+        synchronized (this) {
+            if (background == null) {
+                background = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "sudoku-feasibility");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+        }
+        background.execute(() -> {
+            try {
+                byte[] found = new byte[Grids.CELLS];
+                remember(grid, solver.search(grid, 1, Long.MAX_VALUE, found) == 1 ? found : null);
+            } finally {
+                backgroundBusy.set(false);
+            }
+        });
+    }
+}
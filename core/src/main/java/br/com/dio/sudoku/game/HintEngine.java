@@ -0,0 +1,282 @@
+package br.com.dio.sudoku.game;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.solver.PropagatingSolver;
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// "Próxima dica": a dedução mais fácil disponível, com a célula, o dígito e a técnica.
+//
+// Ordem: conflito direto > jogada errada (o tabuleiro ficou sem solução) > único candidato
+// (naked single) > único lugar na unidade (hidden single) > revelar uma célula da solução em cache.
+// Os candidatos vêm de contadores por unidade/dígito mantidos incrementalmente: a cada pedido só
+// as células que mudaram desde o anterior são atualizadas. Um único prazo vale para o pedido todo
+// (checagens de solução e varreduras); buscas que não cabem nele continuam em segundo plano e
+// ficam para o próximo clique, então o botão nunca trava a tela.
+// A jogada errada só é apontada pelo valor "certo" quando as dicas fixas têm solução única;
+// senão procura o número do usuário que, apagado, devolve a solução ao tabuleiro.
+public class HintEngine {
+
+    public enum Technique {
+        CONFLICT("conflito"),
+        MISTAKE("jogada errada"),
+        NAKED_SINGLE("único candidato"),
+        HIDDEN_SINGLE("único lugar"),
+        REVEALED("revelada da solução");
+
+        private final String label;
+
+        Technique(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+
+    // digit: o valor a colocar (ou, em CONFLICT e MISTAKE sem solução única, o valor a rever);
+    // col/row = -1 (e digit 0) quando nenhuma célula sozinha explica o problema
+    public record Hint(int col, int row, int digit, Technique technique, String explanation) {
+    }
+
+    public static final long DEFAULT_BUDGET_NANOS = 2_000_000;
+
+    private static final String[] UNIT_NAMES = {"na linha", "na coluna", "no bloco"};
+
+    private final long budgetNanos;
+    private final FeasibilityChecker current;   // soluções do tabuleiro como está
+    private final PropagatingSolver solver = new PropagatingSolver();
+
+    // quantas soluções (até 2) têm as dicas fixas do último puzzle visto; conta em segundo plano
+    // quando não cabe no prazo
+    private record Givens(byte[] grid, int solutions, byte[] solution) {
+    }
+
+    private volatile Givens givens;
+    private final AtomicBoolean countingInBackground = new AtomicBoolean();
+    private ExecutorService background;
+
+    private final byte[] seen = new byte[Grids.CELLS];
+    private final int[] counts = new int[27 * 9]; // counts[unit * 9 + d - 1]
+
+    public HintEngine() {
+        this(DEFAULT_BUDGET_NANOS);
+    }
+
+    public HintEngine(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+        this.current = new FeasibilityChecker(budgetNanos);
+    }
+
+    // null se não houver dica agora (tabuleiro completo, ou a solução ainda está sendo calculada)
+    public Hint next(Board board) {
+        long deadline = System.nanoTime() + budgetNanos;
+        byte[] grid = Grids.fromBoard(board);
+        sync(grid);
+
+        Hint hint = conflict(board, grid);
+        if (hint != null) return hint;
+
+        FeasibilityChecker.Result state = current.check(grid, deadline);
+        if (state == FeasibilityChecker.Result.INFEASIBLE) return mistake(board, grid, deadline);
+
+        if (System.nanoTime() >= deadline) return null;
+        hint = nakedSingle(grid);
+        if (hint == null && System.nanoTime() < deadline) hint = hiddenSingle(grid);
+        if (hint != null) return hint;
+
+        return state == FeasibilityChecker.Result.FEASIBLE ? reveal(grid, current.lastSolution()) : null;
+    }
+
+    // outro puzzle foi carregado
+    public void reset() {
+        current.reset();
+        givens = null;
+    }
+
+    // atualiza os contadores só nas células que mudaram desde o último pedido
+    private void sync(byte[] grid) {
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (grid[i] == seen[i]) continue;
+            if (seen[i] != 0) count(i, seen[i], -1);
+            if (grid[i] != 0) count(i, grid[i], 1);
+            seen[i] = grid[i];
+        }
+    }
+
+    private void count(int cell, int digit, int delta) {
+        counts[(cell / 9) * 9 + digit - 1] += delta;
+        counts[(9 + cell % 9) * 9 + digit - 1] += delta;
+        counts[(18 + Grids.box(cell)) * 9 + digit - 1] += delta;
+    }
+
+    private int unitMask(int unit) {
+        int mask = 0;
+        for (int d = 0; d < 9; d++) {
+            if (counts[unit * 9 + d] > 0) mask |= 1 << d;
+        }
+        return mask;
+    }
+
+    private int candidates(int cell) {
+        return 0x1FF & ~(unitMask(cell / 9) | unitMask(9 + cell % 9) | unitMask(18 + Grids.box(cell)));
+    }
+
+    private Hint conflict(Board board, byte[] grid) {
+        for (int unit = 0; unit < 27; unit++) {
+            for (int d = 1; d <= 9; d++) {
+                if (counts[unit * 9 + d - 1] < 2) continue;
+                // aponta uma célula do usuário com o valor repetido (dica fixa não pode ser mudada)
+                for (int cell : Grids.UNITS[unit]) {
+                    if (grid[cell] == d && !board.getSpace(cell % 9, cell / 9).isFixed()) {
+                        return hint(cell, d, Technique.CONFLICT,
+                                "O " + d + " aparece repetido " + unitName(unit) + ". Reveja a célula " + where(cell) + ".");
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    // sem conflito direto mas sem solução: com solução única, o número do usuário diferente dela;
+    // senão, um número que apagado devolve a solução
+    private Hint mistake(Board board, byte[] grid, long deadline) {
+        Givens puzzle = puzzleSolutions(Grids.givensFromBoard(board), deadline);
+        if (puzzle == null) return null; // ainda contando em segundo plano
+        if (puzzle.solutions() == 1) {
+            byte[] solution = puzzle.solution();
+            for (int cell = 0; cell < Grids.CELLS; cell++) {
+                if (grid[cell] != 0 && grid[cell] != solution[cell]) {
+                    return hint(cell, solution[cell], Technique.MISTAKE,
+                            "O tabuleiro não tem mais solução: a célula " + where(cell) + " deveria ser " + solution[cell] + ".");
+                }
+            }
+        }
+        return culprit(board, grid, deadline);
+    }
+
+    // null se a contagem não coube no prazo (continua em segundo plano)
+    private Givens puzzleSolutions(byte[] fixed, long deadline) {
+        Givens known = givens;
+        if (known != null && Arrays.equals(known.grid(), fixed)) return known;
+        byte[] found = new byte[Grids.CELLS];
+        int n = solver.search(fixed, 2, deadline, found);
+        if (n == PropagatingSolver.TIMED_OUT) {
+            countInBackground(fixed);
+            return null;
+        }
+        known = new Givens(fixed, n, found);
+        givens = known;
+        return known;
+    }
+
+    private void countInBackground(byte[] fixed) {
+        if (!countingInBackground.compareAndSet(false, true)) return; // já tem uma contagem rodando
+        synchronized (this) {
+            if (background == null) {
+                background = Executors.newSingleThreadExecutor(r -> {
+                    Thread t = new Thread(r, "sudoku-hint");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+        }
+        background.execute(() -> {
+            try {
+                byte[] found = new byte[Grids.CELLS];
+                givens = new Givens(fixed, solver.search(fixed, 2, Long.MAX_VALUE, found), found);
+            } finally {
+                countingInBackground.set(false);
+            }
+        });
+    }
+
+    // apaga um número do usuário por vez até o tabuleiro voltar a ter solução
+    private Hint culprit(Board board, byte[] grid, long deadline) {
+        byte[] probe = grid.clone();
+        for (int cell = 0; cell < Grids.CELLS; cell++) {
+            if (grid[cell] == 0 || board.getSpace(cell % 9, cell / 9).isFixed()) continue;
+            probe[cell] = 0;
+            int n = solver.search(probe, 1, deadline, null);
+            probe[cell] = grid[cell];
+            if (n == PropagatingSolver.TIMED_OUT) return null;
+            if (n == 1) {
+                return hint(cell, grid[cell], Technique.MISTAKE,
+                        "O tabuleiro não tem mais solução, mas volta a ter sem o " + grid[cell]
+                                + " da célula " + where(cell) + ". Reveja essa célula.");
+            }
+        }
+        return new Hint(-1, -1, 0, Technique.MISTAKE,
+                "O tabuleiro não tem mais solução e nenhuma célula sozinha explica o erro. Reveja as últimas jogadas.");
+    }
+
+    private Hint nakedSingle(byte[] grid) {
+        for (int cell = 0; cell < Grids.CELLS; cell++) {
+            if (grid[cell] != 0) continue;
+            int c = candidates(cell);
+            if (Integer.bitCount(c) == 1) {
+                int d = Integer.numberOfTrailingZeros(c) + 1;
+                return hint(cell, d, Technique.NAKED_SINGLE,
+                        "Na célula " + where(cell) + " só cabe o " + d + ": os outros dígitos já estão na linha, coluna ou bloco.");
+            }
+        }
+        return null;
+    }
+
+    private Hint hiddenSingle(byte[] grid) {
+        for (int unit = 0; unit < 27; unit++) {
+            int missing = 0x1FF & ~unitMask(unit);
+            for (int d = 1; d <= 9; d++) {
+                if ((missing & (1 << (d - 1))) == 0) continue;
+                int place = -1;
+                int places = 0;
+                for (int cell : Grids.UNITS[unit]) {
+                    if (grid[cell] == 0 && (candidates(cell) & (1 << (d - 1))) != 0) {
+                        place = cell;
+                        places++;
+                    }
+                }
+                if (places == 1) {
+                    return hint(place, d, Technique.HIDDEN_SINGLE,
+                            "O " + d + " só pode ir na célula " + where(place) + " " + unitName(unit) + ".");
+                }
+            }
+        }
+        return null;
+    }
+
+    // revela a célula vazia com menos candidatos (a mais difícil de deduzir)
+    private Hint reveal(byte[] grid, byte[] solution) {
+        if (solution == null) return null;
+        int best = -1;
+        int bestCount = 10;
+        for (int cell = 0; cell < Grids.CELLS; cell++) {
+            if (grid[cell] != 0) continue;
+            int n = Integer.bitCount(candidates(cell));
+            if (n < bestCount) {
+                best = cell;
+                bestCount = n;
+            }
+        }
+        if (best < 0) return null;
+        return hint(best, solution[best], Technique.REVEALED,
+                "Sem dedução simples agora: pela solução, a célula " + where(best) + " é " + solution[best] + ".");
+    }
+
+    private static Hint hint(int cell, int digit, Technique technique, String explanation) {
+        return new Hint(cell % 9, cell / 9, digit, technique, explanation);
+    }
+
+    private static String where(int cell) {
+        return "(col " + cell % 9 + ", row " + cell / 9 + ")";
+    }
+
+    private static String unitName(int unit) {
+        return UNIT_NAMES[unit / 9] + " " + unit % 9;
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.dio.sudoku.game;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.board.Space;
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Gravação das jogadas de uma partida (terminal e telas Swing) para análise depois (MoveLogAnalyzer).
+//
+// Uma linha por evento, "<epoch ms> <tipo> [campos]", célula = row * 9 + col:
+//   S <puzzle>                 início de partida (puzzle de 81 caracteres, só as dicas)
+//   P <célula> <dígito> <0|1>  número colocado (1 = entrou em conflito com linha/coluna/bloco)
+//   R <célula>                 número removido
+//   U <célula> <dígito> <0|1>  undo (dígito que ficou na célula, 0 = vazia)
+//   D <célula> <dígito> <0|1>  redo
+//   X                          números do usuário apagados
+//   F                          concluído com sucesso
+// Cada linha é gravada na hora (flush), então nada se perde se o programa for fechado.
+// Ligado com -Dsudoku.record=pasta (ou --record=pasta no terminal): um arquivo por execução.
+// Se a gravação falhar, ela é desligada com um aviso e o jogo continua.
+public class MoveRecorder implements Closeable {
+
+    public static final MoveRecorder OFF = new MoveRecorder(null);
+
+    private Writer out; // null = desligado
+
+    public MoveRecorder(Writer out) {
+        this.out = out;
+    }
+
+    public static MoveRecorder open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        String name = "partida-" + System.currentTimeMillis() + "-" + ProcessHandle.current().pid() + ".log";
+        Path file = dir.resolve(name);
+        for (int i = 1; Files.exists(file); i++) file = dir.resolve(name.replace(".log", "-" + i + ".log"));
+        return new MoveRecorder(Files.newBufferedWriter(file, StandardCharsets.UTF_8));
+    }
+
+    public static MoveRecorder fromSystemProperties() {
+        return forDirectory(System.getProperty("sudoku.record"));
+    }
+
+    // --record=pasta tem prioridade sobre -Dsudoku.record
+    public static MoveRecorder fromArgs(String[] args) {
+        if (args != null) {
+            for (String arg : args) {
+                if (arg != null && arg.startsWith("--record=")) return forDirectory(arg.substring(9));
+            }
+        }
+        return fromSystemProperties();
+    }
+
+    private static MoveRecorder forDirectory(String dir) {
+        if (dir == null || dir.isBlank()) return OFF;
+        try {
+            return open(Path.of(dir));
+        } catch (IOException e) {
+            System.err.println("Gravação de jogadas desligada: " + e.getMessage());
+            return OFF;
+        }
+    }
+
+    public boolean isEnabled() {
+        return out != null;
+    }
+
+    public void start(Board board) {
+        if (out == null) return;
+        write("S " + Grids.format(Grids.givensFromBoard(board)));
+    }
+
+    // jogada do usuário já aplicada no board: P ou R conforme o valor que ficou
+    public void set(Board board, int col, int row) {
+        if (out == null) return;
+        int cell = Grids.index(col, row);
+        Integer value = board.getSpace(col, row).getValue();
+        write(value == null ? "R " + cell : "P " + cell + " " + value + " " + (conflicts(board, cell) ? 1 : 0));
+    }
+
+    // entrada devolvida por UndoLog.undo/redo (ignora NONE)
+    public void undo(Board board, long entry) {
+        replay('U', board, entry);
+    }
+
+    public void redo(Board board, long entry) {
+        replay('D', board, entry);
+    }
+
+    public void clear() {
+        if (out == null) return;
+        write("X");
+    }
+
+    public void finish() {
+        if (out == null) return;
+        write("F");
+    }
+
+    @Override
+    public synchronized void close() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // nada a fazer: o que foi gravado já passou por flush
+        }
+        out = null;
+    }
+
+    private void replay(char type, Board board, long entry) {
+        if (out == null || entry == UndoLog.NONE) return;
+        int col = UndoLog.col(entry);
+        int row = UndoLog.row(entry);
+        int cell = Grids.index(col, row);
+        Integer value = board.getSpace(col, row).getValue();
+        write(type + " " + cell + " " + (value == null ? 0 : value) + " " + (conflicts(board, cell) ? 1 : 0));
+    }
+
+    private static boolean conflicts(Board board, int cell) {
+        Integer value = board.getSpace(cell % Board.SIZE, cell / Board.SIZE).getValue();
+        if (value == null) return false;
+        for (int peer : Grids.PEERS[cell]) {
+            Space s = board.getSpace(peer % Board.SIZE, peer / Board.SIZE);
+            if (value.equals(s.getValue())) return true;
+        }
+        return false;
+    }
+
+    private synchronized void write(String event) {
+        if (out == null) return;
+        try {
+            out.write(System.currentTimeMillis() + " " + event + "\n");
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Gravação de jogadas desligada: " + e.getMessage());
+            close();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.dio.sudoku.game;
+
+// Tempo e número de jogadas da partida atual (terminal e telas Swing).
+// O tempo conta do início (ou do último puzzle carregado) até stop(); reiniciar o tabuleiro não zera.
+public class PlayTimer {
+
+    private long startNanos = System.nanoTime();
+    private long stopNanos = -1; // -1 = rodando
+    private int moves;
+
+    public void restart() {
+        startNanos = System.nanoTime();
+        stopNanos = -1;
+        moves = 0;
+    }
+
+    public void countMove() {
+        if (stopNanos < 0) moves++;
+    }
+
+    // para o relógio e devolve o tempo final em ms
+    public long stop() {
+        if (stopNanos < 0) stopNanos = System.nanoTime();
+        return elapsedMillis();
+    }
+
+    public boolean isRunning() {
+        return stopNanos < 0;
+    }
+
+    public long elapsedMillis() {
+        long end = stopNanos < 0 ? System.nanoTime() : stopNanos;
+        return (end - startNanos) / 1_000_000;
+    }
+
+    public int moves() {
+        return moves;
+    }
+
+    // "4m07s" / "1h02m13s"
+    public static String format(long millis) {
+        long s = millis / 1000;
+        if (s >= 3600) return String.format("%dh%02dm%02ds", s / 3600, s / 60 % 60, s % 60);
+        return String.format("%dm%02ds", s / 60, s % 60);
+    }
+}
@@ -0,0 +1,268 @@
+package br.com.dio.sudoku.game;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.board.Space;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Histórico de undo/redo compartilhado pelo terminal e pelas duas telas Swing.
+//
+// Cada jogada vira um único long (célula, valor antigo, valor novo, máscara de notas antigas)
+// guardado num ring buffer que cresce até o limite configurado. Quando o limite é atingido
+// as jogadas mais antigas são descartadas ou, se houver arquivo de spill, gravadas em disco
+// e lidas de volta quando o undo chegar nelas. undo()/redo() não alocam objetos para restaurar
+// valores; restaurar notas passa pelo Set de Space e aloca um nó por nota.
+public class UndoLog implements Closeable {
+
+    public static final long NONE = -1L;
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    // layout do long: [0..6] célula | [7..10] valor antigo | [11..14] valor novo | [15..23] notas antigas
+    private static final int CELL_BITS = 7;
+    private static final int VALUE_BITS = 4;
+    private static final int OLD_SHIFT = CELL_BITS;
+    private static final int NEW_SHIFT = OLD_SHIFT + VALUE_BITS;
+    private static final int NOTES_SHIFT = NEW_SHIFT + VALUE_BITS;
+
+    private final int maxEntries;
+    private long[] ring;
+    private int head;     // posição da jogada mais antiga no ring
+    private int count;    // jogadas guardadas no ring (desfazíveis + refazíveis)
+    private int cursor;   // quantas jogadas (a partir da mais antiga) podem ser desfeitas
+
+    private final FileChannel spill;
+    private final ByteBuffer spillBuffer;
+    private long spilled; // jogadas guardadas no arquivo (mais antigas que as do ring)
+
+    public UndoLog() {
+        this(DEFAULT_MAX_ENTRIES, null);
+    }
+
+    public UndoLog(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    public UndoLog(int maxEntries, Path spillFile) {
+        if (maxEntries < 1) throw new IllegalArgumentException("maxEntries deve ser >= 1");
+        this.maxEntries = maxEntries;
+        this.ring = new long[Math.min(INITIAL_CAPACITY, maxEntries)];
+        if (spillFile == null) {
+            this.spill = null;
+            this.spillBuffer = null;
+        } else {
+            try {
+                this.spill = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.spillBuffer = ByteBuffer.allocateDirect(Long.BYTES);
+        }
+    }
+
+    // -Dsudoku.undo.max=N limita o histórico; -Dsudoku.undo.spill=arquivo guarda o excedente em disco
+    public static UndoLog fromSystemProperties() {
+        int max = Integer.getInteger("sudoku.undo.max", DEFAULT_MAX_ENTRIES);
+        String spillFile = System.getProperty("sudoku.undo.spill");
+        return new UndoLog(max, spillFile == null || spillFile.isBlank() ? null : Path.of(spillFile));
+    }
+
+    // =========================
+    // Empacotamento
+    // =========================
+
+    public static long pack(int col, int row, Integer oldValue, Integer newValue, int oldNotesMask) {
+        long cell = row * Board.SIZE + col;
+        return cell
+                | ((long) toBits(oldValue) << OLD_SHIFT)
+                | ((long) toBits(newValue) << NEW_SHIFT)
+                | ((long) (oldNotesMask & 0x1FF) << NOTES_SHIFT);
+    }
+
+    public static int col(long entry) {
+        return cell(entry) % Board.SIZE;
+    }
+
+    public static int row(long entry) {
+        return cell(entry) / Board.SIZE;
+    }
+
+    public static Integer oldValue(long entry) {
+        return fromBits((int) (entry >>> OLD_SHIFT) & 0xF);
+    }
+
+    public static Integer newValue(long entry) {
+        return fromBits((int) (entry >>> NEW_SHIFT) & 0xF);
+    }
+
+    public static int oldNotesMask(long entry) {
+        return (int) (entry >>> NOTES_SHIFT) & 0x1FF;
+    }
+
+    private static int cell(long entry) {
+        return (int) entry & 0x7F;
+    }
+
+    private static int toBits(Integer value) {
+        return value == null ? 0 : value;
+    }
+
+    private static Integer fromBits(int bits) {
+        return bits == 0 ? null : bits; // 1..9 vêm do cache de Integer, sem alocação
+    }
+
+    // =========================
+    // Histórico
+    // =========================
+
+    // registra a jogada que está prestes a ser aplicada em (col,row); descarta o que havia para refazer
+    public void record(int col, int row, Space before, Integer newValue) {
+        push(pack(col, row, before.getValue(), newValue, before.getNotesMask()));
+    }
+
+    public void push(long entry) {
+        count = cursor;
+        if (count == ring.length) {
+            if (ring.length < maxEntries) grow();
+            else evictOldest();
+        }
+        ring[index(count)] = entry;
+        count++;
+        cursor = count;
+    }
+
+    public boolean canUndo() {
+        return cursor > 0 || spilled > 0;
+    }
+
+    public boolean canRedo() {
+        return cursor < count;
+    }
+
+    public long undo() {
+        if (cursor == 0) {
+            if (spilled == 0) return NONE;
+            reloadFromSpill();
+        }
+        cursor--;
+        return ring[index(cursor)];
+    }
+
+    public long redo() {
+        if (cursor == count) return NONE;
+        long entry = ring[index(cursor)];
+        cursor++;
+        return entry;
+    }
+
+    // desfaz a última jogada direto no tabuleiro; retorna a jogada desfeita ou NONE
+    public long undo(Board board) {
+        long entry = undo();
+        if (entry == NONE) return NONE;
+        int col = col(entry);
+        int row = row(entry);
+        if (board.getSpace(col, row).isFixed()) return entry;
+        board.setUserValue(col, row, oldValue(entry));
+        board.getSpace(col, row).setNotesMask(oldNotesMask(entry));
+        return entry;
+    }
+
+    // refaz a última jogada desfeita direto no tabuleiro; retorna a jogada refeita ou NONE
+    public long redo(Board board) {
+        long entry = redo();
+        if (entry == NONE) return NONE;
+        board.setUserValue(col(entry), row(entry), newValue(entry));
+        return entry;
+    }
+
+    public void clear() {
+        head = 0;
+        count = 0;
+        cursor = 0;
+        if (spill != null && spilled > 0) {
+            try {
+                spill.truncate(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        spilled = 0;
+    }
+
+    public int size() {
+        return cursor;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (spill != null) spill.close();
+    }
+
+    private int index(int offset) {
+        return (head + offset) % ring.length;
+    }
+
+    private void grow() {
+        long[] bigger = new long[(int) Math.min((long) ring.length * 2, maxEntries)];
+        for (int i = 0; i < count; i++) bigger[i] = ring[index(i)];
+        ring = bigger;
+        head = 0;
+    }
+
+    private void evictOldest() {
+        if (spill != null) {
+            writeSpill(ring[head], spilled);
+            spilled++;
+        }
+        head = (head + 1) % ring.length;
+        count--;
+        cursor = Math.min(cursor, count);
+    }
+
+    // traz de volta a jogada mais recente do arquivo; se o ring está cheio, perde o redo mais novo
+    private void reloadFromSpill() {
+        if (count == ring.length) count--;
+        spilled--;
+        head = (head - 1 + ring.length) % ring.length;
+        ring[head] = readSpill(spilled);
+        count++;
+        cursor = 1;
+        try {
+            spill.truncate(spilled * Long.BYTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeSpill(long entry, long slot) {
+        try {
+            spillBuffer.clear();
+            spillBuffer.putLong(entry).flip();
+            while (spillBuffer.hasRemaining()) spill.write(spillBuffer, slot * Long.BYTES + spillBuffer.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private long readSpill(long slot) {
+        try {
+            spillBuffer.clear();
+            while (spillBuffer.hasRemaining()) {
+                if (spill.read(spillBuffer, slot * Long.BYTES + spillBuffer.position()) < 0) {
+                    throw new IOException("Arquivo de spill do undo truncado");
+                }
+            }
+            return spillBuffer.getLong(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
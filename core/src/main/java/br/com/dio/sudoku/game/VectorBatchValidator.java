@@ -0,0 +1,70 @@
+package br.com.dio.sudoku.game;
+
+import br.com.dio.sudoku.util.Grids;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+// Implementação SIMD: cada lane do vetor é um tabuleiro inteiro. Um bloco de 'lanes' tabuleiros
+// é transposto de uma vez para o layout célula-major e cada unidade (linha, coluna, bloco) faz
+// OR/AND dos 9 vetores de célula acumulando os dígitos repetidos.
+//
+// Só os blocos completos passam pelos vetores; a sobra (e lotes menores que um bloco) vai para a
+// versão escalar, sem lanes vazias. O bloco fica num método próprio para o C2 compilá-lo cedo:
+// ainda assim, até a compilação a Vector API roda interpretada e é bem mais lenta que a escalar,
+// por isso só vale para lotes grandes e processos longos (ver BatchValidator.vector()).
+final class VectorBatchValidator extends BatchValidator {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private final BatchValidator tail = scalar();
+
+    @Override
+    public String name() {
+        return "vector-api (" + LANES + " lanes)";
+    }
+
+    @Override
+    public void hasConflicts(byte[] grids, int count, boolean[] out) {
+        int full = count - count % LANES;
+        if (full > 0) {
+            int[] bits = new int[Grids.CELLS * LANES];
+            for (int base = 0; base < full; base += LANES) hasConflicts(grids, base, bits, out);
+        }
+        if (full < count) {
+            boolean[] rest = new boolean[count - full];
+            tail.hasConflicts(Arrays.copyOfRange(grids, full * Grids.CELLS, count * Grids.CELLS), rest.length, rest);
+            System.arraycopy(rest, 0, out, full, rest.length);
+        }
+    }
+
+    // tabuleiros base .. base + LANES - 1
+    private static void hasConflicts(byte[] grids, int base, int[] bits, boolean[] out) {
+        // transpõe: bits[cell * LANES + lane] = bit do dígito da célula no tabuleiro (base + lane)
+        int offset = base * Grids.CELLS;
+        for (int lane = 0; lane < LANES; lane++, offset += Grids.CELLS) {
+            for (int cell = 0; cell < Grids.CELLS; cell++) {
+                bits[cell * LANES + lane] = digitBit(grids[offset + cell]);
+            }
+        }
+
+        IntVector dup = IntVector.zero(SPECIES);
+        for (int[] unit : Grids.UNITS) {
+            IntVector seen = IntVector.zero(SPECIES);
+            for (int cell : unit) {
+                IntVector bit = IntVector.fromArray(SPECIES, bits, cell * LANES);
+                dup = dup.or(seen.and(bit));
+                seen = seen.or(bit);
+            }
+        }
+
+        VectorMask<Integer> conflict = dup.compare(VectorOperators.NE, 0);
+        for (int lane = 0; lane < LANES; lane++) {
+            out[base + lane] = conflict.laneIsSet(lane);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.dio.sudoku.library;
+
+import java.util.Locale;
+
+public enum Difficulty {
+    EASY,
+    MEDIUM,
+    HARD,
+    EXPERT;
+
+    private static final Difficulty[] VALUES = values();
+
+    public static Difficulty ofOrdinal(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    // aceita o nome em inglês ou em português (facil, medio, dificil, expert)
+    public static Difficulty parse(String s) {
+        String v = s.trim().toLowerCase(Locale.ROOT);
+        return switch (v) {
+            case "easy", "facil", "fácil" -> EASY;
+            case "medium", "medio", "médio" -> MEDIUM;
+            case "hard", "dificil", "difícil" -> HARD;
+            case "expert", "especialista" -> EXPERT;
+            default -> throw new IllegalArgumentException("Dificuldade desconhecida: " + s);
+        };
+    }
+
+    // estimativa pela quantidade de dicas, quando o arquivo de origem não traz a dificuldade
+    public static Difficulty fromClues(int clues) {
+        if (clues >= 36) return EASY;
+        if (clues >= 30) return MEDIUM;
+        if (clues >= 26) return HARD;
+        return EXPERT;
+    }
+}
@@ -0,0 +1,77 @@
+package br.com.dio.sudoku.library;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.OptionalInt;
+import java.util.Random;
+
+// Escolhe o puzzle inicial a partir dos argumentos, quando eles apontam para uma biblioteca:
+//   --library=arquivo.sudlib [--daily] [--grade=hard] [--clues=24-26] [--id=N]
+// Sem --daily/--id sorteia um puzzle ainda não jogado com a dificuldade/dicas pedidas.
+public class LibrarySelection {
+
+    // aplica no board e retorna true se havia --library=; senão não mexe em nada
+    public static boolean apply(Board board, String[] args) {
+        String file = option(args, "--library=");
+        if (file == null) return false;
+
+        try (PuzzleLibrary library = PuzzleLibrary.open(Path.of(file))) {
+            int id = select(library, args);
+            library.markPlayed(id);
+            byte[] givens = library.get(id).givens();
+            for (int i = 0; i < Grids.CELLS; i++) {
+                if (givens[i] != 0) board.setFixed(i % Board.SIZE, i / Board.SIZE, givens[i]);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir a biblioteca " + file, e);
+        }
+    }
+
+    static int select(PuzzleLibrary library, String[] args) {
+        if (library.size() == 0) throw new IllegalArgumentException("Biblioteca vazia");
+
+        String id = option(args, "--id=");
+        if (id != null) return Integer.parseInt(id);
+        if (flag(args, "--daily")) return library.puzzleOfTheDay(LocalDate.now());
+
+        String grade = option(args, "--grade=");
+        Difficulty difficulty = grade == null ? Difficulty.MEDIUM : Difficulty.parse(grade);
+        int minClues = 17;
+        int maxClues = 80;
+        String clues = option(args, "--clues=");
+        if (clues != null) {
+            String[] range = clues.split("-");
+            minClues = Integer.parseInt(range[0].trim());
+            maxClues = range.length > 1 ? Integer.parseInt(range[1].trim()) : minClues;
+        }
+
+        OptionalInt pick = library.randomUnplayed(difficulty, minClues, maxClues, new Random());
+        if (pick.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum puzzle não jogado com dificuldade " + difficulty
+                    + " e " + minClues + "-" + maxClues + " dicas");
+        }
+        return pick.getAsInt();
+    }
+
+    private static String option(String[] args, String prefix) {
+        if (args == null) return null;
+        for (String a : args) {
+            if (a != null && a.startsWith(prefix)) return a.substring(prefix.length());
+        }
+        return null;
+    }
+
+    private static boolean flag(String[] args, String name) {
+        if (args == null) return false;
+        for (String a : args) {
+            if (name.equals(a)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.dio.sudoku.library;
+
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.Arrays;
+
+// Hash canônico de um puzzle: o mesmo valor para puzzles equivalentes por rotação/reflexão
+// (as 8 simetrias do quadrado) e por troca de dígitos. Para cada simetria os dígitos são
+// renumerados na ordem em que aparecem e o menor FNV-1a 64 das 8 versões é o hash.
+// (Não cobre troca de linhas/colunas dentro das faixas, o que exigiria busca bem mais cara.)
+public class PuzzleHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public static long canonical(byte[] grid) {
+        long best = Long.MAX_VALUE;
+        byte[] relabel = new byte[10];
+        for (int t = 0; t < 8; t++) {
+            Arrays.fill(relabel, (byte) 0);
+            byte next = 1;
+            long h = FNV_OFFSET;
+            for (int i = 0; i < Grids.CELLS; i++) {
+                int v = grid[transform(t, i)];
+                if (v != 0 && relabel[v] == 0) relabel[v] = next++;
+                h = (h ^ relabel[v]) * FNV_PRIME;
+            }
+            best = Math.min(best, h);
+        }
+        return best;
+    }
+
+    // índice de origem da célula i na simetria t
+    private static int transform(int t, int i) {
+        int r = i / 9;
+        int c = i % 9;
+        int rr;
+        int cc;
+        switch (t) {
+            case 0 -> { rr = r; cc = c; }
+            case 1 -> { rr = c; cc = 8 - r; }     // 90°
+            case 2 -> { rr = 8 - r; cc = 8 - c; } // 180°
+            case 3 -> { rr = 8 - c; cc = r; }     // 270°
+            case 4 -> { rr = r; cc = 8 - c; }     // espelho horizontal
+            case 5 -> { rr = 8 - r; cc = c; }     // espelho vertical
+            case 6 -> { rr = c; cc = r; }         // transposta
+            default -> { rr = 8 - c; cc = 8 - r; } // antitransposta
+        }
+        return rr * 9 + cc;
+    }
+}
@@ -0,0 +1,213 @@
+package br.com.dio.sudoku.library;
+
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.OptionalInt;
+import java.util.Random;
+
+// Biblioteca de puzzles num arquivo de registros fixos acessado por memory-map: nada é carregado
+// no heap além do puzzle que for lido. Gerada pelo PuzzleLibraryBuilder.
+//
+// Layout do arquivo:
+//   cabeçalho (64 bytes): magic, quantidade, tamanho do registro, offsets dos índices
+//   registros (96 bytes): givens (41, 4 bits/célula) | solução (41) | dicas (1) | dificuldade (1) | hash (8)
+//   índice por dificuldade: ids (int) ordenados por (dificuldade, dicas, id)
+//   índice por hash: pares (hash long, id int) ordenados por hash
+// As consultas fazem busca binária nos índices: O(log n) leituras do arquivo mapeado.
+// Os puzzles já jogados ficam num bitmap ao lado (<arquivo>.played), também mapeado.
+public class PuzzleLibrary implements Closeable {
+
+    static final long MAGIC = 0x5355444C49423031L; // "SUDLIB01"
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_BYTES = 96;
+    static final int PACKED_GRID_BYTES = (Grids.CELLS + 1) / 2;
+    static final int OFF_GIVENS = 0;
+    static final int OFF_SOLUTION = OFF_GIVENS + PACKED_GRID_BYTES;
+    static final int OFF_CLUES = OFF_SOLUTION + PACKED_GRID_BYTES;
+    static final int OFF_GRADE = OFF_CLUES + 1;
+    static final int OFF_HASH = OFF_GRADE + 1;
+    static final int HASH_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+    static final int RANDOM_PROBES = 32;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer data;
+    private final int count;
+    private final int gradeIndex;
+    private final int hashIndex;
+
+    private final FileChannel playedChannel;
+    private final MappedByteBuffer played;
+
+    private PuzzleLibrary(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        long size = channel.size();
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Biblioteca maior que 2 GB não suportada num único mapeamento: " + file);
+        }
+        data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (size < HEADER_BYTES || data.getLong(0) != MAGIC) throw new IOException("Arquivo não é uma biblioteca de puzzles: " + file);
+        count = data.getInt(8);
+        if (data.getInt(12) != RECORD_BYTES) throw new IOException("Versão de registro incompatível: " + file);
+        gradeIndex = (int) data.getLong(16);
+        hashIndex = (int) data.getLong(24);
+
+        Path playedFile = Path.of(file + ".played");
+        playedChannel = FileChannel.open(playedFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        played = playedChannel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(1, (count + 7) / 8));
+    }
+
+    public static PuzzleLibrary open(Path file) throws IOException {
+        return new PuzzleLibrary(file);
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // =========================
+    // Registros
+    // =========================
+
+    public PuzzleRecord get(int id) {
+        checkId(id);
+        int base = record(id);
+        return new PuzzleRecord(id, unpack(data, base + OFF_GIVENS), unpack(data, base + OFF_SOLUTION),
+                clues(id), difficulty(id), hash(id));
+    }
+
+    public int clues(int id) {
+        return data.get(record(id) + OFF_CLUES);
+    }
+
+    public Difficulty difficulty(int id) {
+        return Difficulty.ofOrdinal(data.get(record(id) + OFF_GRADE));
+    }
+
+    public long hash(int id) {
+        return data.getLong(record(id) + OFF_HASH);
+    }
+
+    // =========================
+    // Consultas
+    // =========================
+
+    public OptionalInt findByHash(long hash) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (Long.compare(data.getLong(hashIndex + mid * HASH_ENTRY_BYTES), hash) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        if (lo < count && data.getLong(hashIndex + lo * HASH_ENTRY_BYTES) == hash) {
+            return OptionalInt.of(data.getInt(hashIndex + lo * HASH_ENTRY_BYTES + Long.BYTES));
+        }
+        return OptionalInt.empty();
+    }
+
+    public int countMatching(Difficulty grade, int minClues, int maxClues) {
+        return Math.max(0, lowerBound(gradeKey(grade, maxClues + 1)) - lowerBound(gradeKey(grade, minClues)));
+    }
+
+    // puzzle ainda não jogado com a dificuldade e a faixa de dicas pedidas, uniforme entre os não
+    // jogados. Primeiro sorteia posições (O(1) cada enquanto a maioria não foi jogada); se todas
+    // caírem em jogados, varre a faixa escolhendo um dos não jogados por amostragem de reservatório.
+    public OptionalInt randomUnplayed(Difficulty grade, int minClues, int maxClues, Random rnd) {
+        int lo = lowerBound(gradeKey(grade, minClues));
+        int hi = lowerBound(gradeKey(grade, maxClues + 1));
+        int n = hi - lo;
+        if (n <= 0) return OptionalInt.empty();
+        for (int probe = 0; probe < RANDOM_PROBES; probe++) {
+            int id = indexAt(lo + rnd.nextInt(n));
+            if (!isPlayed(id)) return OptionalInt.of(id);
+        }
+        int chosen = -1;
+        int unplayed = 0;
+        for (int position = lo; position < hi; position++) {
+            int id = indexAt(position);
+            if (!isPlayed(id) && rnd.nextInt(++unplayed) == 0) chosen = id;
+        }
+        return chosen < 0 ? OptionalInt.empty() : OptionalInt.of(chosen);
+    }
+
+    // o mesmo puzzle para todo mundo no mesmo dia
+    public int puzzleOfTheDay(LocalDate date) {
+        long x = date.toEpochDay() * 0x9E3779B97F4A7C15L;
+        x ^= x >>> 31;
+        return (int) Math.floorMod(x, (long) count);
+    }
+
+    public boolean isPlayed(int id) {
+        return (played.get(id >>> 3) & (1 << (id & 7))) != 0;
+    }
+
+    public synchronized void markPlayed(int id) {
+        checkId(id);
+        played.put(id >>> 3, (byte) (played.get(id >>> 3) | (1 << (id & 7))));
+    }
+
+    @Override
+    public void close() throws IOException {
+        played.force();
+        playedChannel.close();
+        channel.close();
+    }
+
+    private int lowerBound(int key) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int id = indexAt(mid);
+            if (gradeKey(difficulty(id), clues(id)) < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private int indexAt(int position) {
+        return data.getInt(gradeIndex + position * Integer.BYTES);
+    }
+
+    private static int record(int id) {
+        return HEADER_BYTES + id * RECORD_BYTES;
+    }
+
+    private void checkId(int id) {
+        if (id < 0 || id >= count) throw new IndexOutOfBoundsException("Puzzle inexistente: " + id);
+    }
+
+    static int gradeKey(Difficulty grade, int clues) {
+        return grade.ordinal() << 8 | clues;
+    }
+
+    // =========================
+    // Empacotamento (4 bits por célula)
+    // =========================
+
+    static void pack(byte[] grid, ByteBuffer dst, int offset) {
+        for (int i = 0; i < PACKED_GRID_BYTES; i++) {
+            int lo = grid[2 * i];
+            int hi = 2 * i + 1 < Grids.CELLS ? grid[2 * i + 1] : 0;
+            dst.put(offset + i, (byte) (lo | hi << 4));
+        }
+    }
+
+    static byte[] unpack(ByteBuffer src, int offset) {
+        byte[] grid = new byte[Grids.CELLS];
+        for (int i = 0; i < PACKED_GRID_BYTES; i++) {
+            int b = src.get(offset + i);
+            grid[2 * i] = (byte) (b & 0xF);
+            if (2 * i + 1 < Grids.CELLS) grid[2 * i + 1] = (byte) ((b >>> 4) & 0xF);
+        }
+        return grid;
+    }
+}
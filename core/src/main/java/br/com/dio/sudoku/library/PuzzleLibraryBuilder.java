@@ -0,0 +1,173 @@
+package br.com.dio.sudoku.library;
+
+import br.com.dio.sudoku.batch.SolutionVerifier;
+import br.com.dio.sudoku.batch.Verdict;
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import static br.com.dio.sudoku.library.PuzzleLibrary.*;
+
+// Gera o arquivo da PuzzleLibrary a partir de um texto com uma linha por puzzle:
+//   <puzzle 81 chars> <solução 81 chars> [dificuldade]
+// Sem a dificuldade ela é estimada pela quantidade de dicas. Linhas cuja solução não confere
+// com o puzzle são ignoradas. Os registros vão direto para o arquivo; no heap ficam só as
+// chaves dos índices: dois longs e um int, uns 20 bytes por puzzle (e por um instante o dobro
+// dos longs, quando os arrays dobram de tamanho).
+//
+// uso: PuzzleLibraryBuilder entrada.txt saida.sudlib
+public class PuzzleLibraryBuilder {
+
+    private static final int BATCH_RECORDS = 4096;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("uso: PuzzleLibraryBuilder entrada.txt saida.sudlib");
+            return;
+        }
+        Stats stats = build(Path.of(args[0]), Path.of(args[1]));
+        System.out.printf("%d puzzles gravados, %d linhas ignoradas, %d repetidos (mesmo hash canônico)%n",
+                stats.written, stats.skipped, stats.duplicates);
+    }
+
+    public record Stats(int written, int skipped, int duplicates) {
+    }
+
+    public static Stats build(Path input, Path output) throws IOException {
+        SolutionVerifier verifier = new SolutionVerifier();
+        long[] gradeKeys = new long[1024];
+        long[] hashes = new long[1024];
+        int count = 0;
+        int skipped = 0;
+
+        ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_RECORDS * RECORD_BYTES).order(ByteOrder.BIG_ENDIAN);
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            out.position(HEADER_BYTES);
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts.length < 2) {
+                    if (!line.isBlank()) skipped++;
+                    continue;
+                }
+                byte[] givens = new byte[Grids.CELLS];
+                byte[] solution = new byte[Grids.CELLS];
+                if (!Grids.parseInto(parts[0], givens, 0) || !Grids.parseInto(parts[1], solution, 0)
+                        || verifier.verify(givens, solution) != Verdict.VALID) {
+                    skipped++;
+                    continue;
+                }
+                int clues = Grids.countClues(givens);
+                Difficulty grade;
+                try {
+                    grade = parts.length > 2 ? Difficulty.parse(parts[2]) : Difficulty.fromClues(clues);
+                } catch (IllegalArgumentException e) {
+                    skipped++;
+                    continue;
+                }
+                long hash = PuzzleHash.canonical(givens);
+
+                int base = (count % BATCH_RECORDS) * RECORD_BYTES;
+                pack(givens, batch, base + OFF_GIVENS);
+                pack(solution, batch, base + OFF_SOLUTION);
+                batch.put(base + OFF_CLUES, (byte) clues);
+                batch.put(base + OFF_GRADE, (byte) grade.ordinal());
+                batch.putLong(base + OFF_HASH, hash);
+
+                if (count == gradeKeys.length) {
+                    gradeKeys = Arrays.copyOf(gradeKeys, count * 2);
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                }
+                gradeKeys[count] = (long) gradeKey(grade, clues) << 32 | count;
+                hashes[count] = hash;
+                count++;
+                if (count % BATCH_RECORDS == 0) flush(out, batch, BATCH_RECORDS);
+            }
+            flush(out, batch, count % BATCH_RECORDS);
+
+            // índice por (dificuldade, dicas, id)
+            long gradeIndexOffset = out.position();
+            Arrays.sort(gradeKeys, 0, count);
+            ByteBuffer buf = ByteBuffer.allocate(8192);
+            for (int i = 0; i < count; i++) {
+                if (buf.remaining() < Integer.BYTES) drain(out, buf);
+                buf.putInt((int) gradeKeys[i]);
+            }
+            drain(out, buf);
+
+            // índice por hash
+            long hashIndexOffset = out.position();
+            int[] ids = new int[count];
+            for (int i = 0; i < count; i++) ids[i] = i;
+            sortByHash(hashes, ids, count);
+            int duplicates = 0;
+            for (int i = 0; i < count; i++) {
+                if (i > 0 && hashes[i] == hashes[i - 1]) duplicates++;
+                if (buf.remaining() < HASH_ENTRY_BYTES) drain(out, buf);
+                buf.putLong(hashes[i]).putInt(ids[i]);
+            }
+            drain(out, buf);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putLong(MAGIC).putInt(count).putInt(RECORD_BYTES)
+                    .putLong(gradeIndexOffset).putLong(hashIndexOffset).rewind();
+            out.write(header, 0);
+
+            // um bitmap de "jogados" antigo não vale para o arquivo novo
+            Files.deleteIfExists(Path.of(output + ".played"));
+            return new Stats(count, skipped, duplicates);
+        }
+    }
+
+    private static void flush(FileChannel out, ByteBuffer batch, int records) throws IOException {
+        batch.clear().limit(records * RECORD_BYTES);
+        while (batch.hasRemaining()) out.write(batch);
+        batch.clear();
+    }
+
+    private static void drain(FileChannel out, ByteBuffer buf) throws IOException {
+        buf.flip();
+        while (buf.hasRemaining()) out.write(buf);
+        buf.clear();
+    }
+
+    // heapsort dos dois arrays juntos (sem boxing de milhões de ids)
+    private static void sortByHash(long[] keys, int[] ids, int n) {
+        for (int i = n / 2 - 1; i >= 0; i--) siftDown(keys, ids, i, n);
+        for (int end = n - 1; end > 0; end--) {
+            swap(keys, ids, 0, end);
+            siftDown(keys, ids, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] keys, int[] ids, int i, int n) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= n) return;
+            if (child + 1 < n && keys[child + 1] > keys[child]) child++;
+            if (keys[i] >= keys[child]) return;
+            swap(keys, ids, i, child);
+            i = child;
+        }
+    }
+
+    private static void swap(long[] keys, int[] ids, int a, int b) {
+        long k = keys[a];
+        keys[a] = keys[b];
+        keys[b] = k;
+        int t = ids[a];
+        ids[a] = ids[b];
+        ids[b] = t;
+    }
+}
@@ -0,0 +1,12 @@
+package br.com.dio.sudoku.library;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.Grids;
+
+// Um puzzle lido da biblioteca (givens e solution no formato de Grids).
+public record PuzzleRecord(int id, byte[] givens, byte[] solution, int clues, Difficulty difficulty, long hash) {
+
+    public Board toBoard() {
+        return Grids.toBoard(givens);
+    }
+}
@@ -0,0 +1,111 @@
+package br.com.dio.sudoku.net;
+
+import br.com.dio.sudoku.board.Board;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static br.com.dio.sudoku.net.CoopProtocol.*;
+
+// Cliente do modo cooperativo. Envia as jogadas locais como deltas SET e entrega os deltas do
+// servidor ao Listener numa thread própria (as telas Swing repassam para a EDT).
+public class CoopClient implements Closeable {
+
+    public interface Listener {
+        // célula alterada no servidor (por qualquer jogador, inclusive este)
+        void onUpdate(int col, int row, Integer value, boolean fixed, boolean conflict);
+
+        // jogada recusada: value é o valor que vale no servidor
+        default void onRejected(int col, int row, Integer value) { }
+
+        // terminou de receber o estado inicial
+        default void onSynced() { }
+
+        default void onDisconnected() { }
+    }
+
+    private final SocketChannel channel;
+    private final ByteBuffer sendBuffer = ByteBuffer.allocate(DELTA_BYTES);
+    private final Thread reader;
+    private volatile boolean closed;
+
+    private CoopClient(SocketChannel channel, Listener listener) {
+        this.channel = channel;
+        this.reader = new Thread(() -> readLoop(listener), "sudoku-coop-client");
+        reader.setDaemon(true);
+    }
+
+    public static CoopClient connect(String host, int port, Listener listener) throws IOException {
+        SocketChannel ch = SocketChannel.open(new InetSocketAddress(host, port));
+        ch.socket().setTcpNoDelay(true);
+        CoopClient client = new CoopClient(ch, listener);
+        client.reader.start();
+        return client;
+    }
+
+    // "host:porta" ou só "porta" (localhost)
+    public static CoopClient connect(String address, Listener listener) throws IOException {
+        int sep = address.lastIndexOf(':');
+        String host = sep < 0 ? "127.0.0.1" : address.substring(0, sep);
+        int port = Integer.parseInt(sep < 0 ? address : address.substring(sep + 1));
+        return connect(host, port, listener);
+    }
+
+    public synchronized void send(int col, int row, Integer value) {
+        if (closed) return;
+        sendBuffer.clear();
+        sendBuffer.putInt(delta(SET, row * Board.SIZE + col, value == null ? 0 : value, 0)).flip();
+        try {
+            while (sendBuffer.hasRemaining()) channel.write(sendBuffer);
+        } catch (IOException e) {
+            closeQuietly();
+        }
+    }
+
+    private void readLoop(Listener listener) {
+        ByteBuffer in = ByteBuffer.allocate(DELTA_BYTES * 1024);
+        try {
+            while (channel.read(in) >= 0) {
+                in.flip();
+                while (in.remaining() >= DELTA_BYTES) dispatch(listener, in.getInt());
+                in.compact();
+            }
+        } catch (IOException e) {
+            // conexão caiu
+        } finally {
+            closeQuietly();
+            listener.onDisconnected();
+        }
+    }
+
+    private static void dispatch(Listener listener, int delta) {
+        int cell = cell(delta);
+        int col = cell % Board.SIZE;
+        int row = cell / Board.SIZE;
+        Integer value = value(delta) == 0 ? null : value(delta);
+        switch (type(delta)) {
+            case UPDATE -> listener.onUpdate(col, row, value,
+                    (flags(delta) & FLAG_FIXED) != 0, (flags(delta) & FLAG_CONFLICT) != 0);
+            case REJECT -> listener.onRejected(col, row, value);
+            case SYNC -> listener.onSynced();
+            default -> { }
+        }
+    }
+
+    @Override
+    public void close() {
+        closeQuietly();
+    }
+
+    private void closeQuietly() {
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // já fechado
+        }
+    }
+}
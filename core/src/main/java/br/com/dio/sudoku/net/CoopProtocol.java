@@ -0,0 +1,40 @@
+package br.com.dio.sudoku.net;
+
+// Protocolo do modo cooperativo: toda mensagem é um delta de 4 bytes (um int big-endian)
+//   [tipo][célula 0-80][valor 0-9, 0 = vazio][flags]
+// O cliente só manda SET; o servidor responde com UPDATE (para todos), REJECT (só para quem
+// enviou) e, ao entrar, um UPDATE por célula (valor 0 nas vazias) seguido de SYNC: esse estado
+// substitui o tabuleiro inteiro do cliente, dicas fixas inclusive.
+public class CoopProtocol {
+
+    public static final int DELTA_BYTES = Integer.BYTES;
+    public static final int DEFAULT_PORT = 7777;
+
+    public static final int SET = 1;
+    public static final int UPDATE = 2;
+    public static final int REJECT = 3;
+    public static final int SYNC = 4;
+
+    public static final int FLAG_FIXED = 1;
+    public static final int FLAG_CONFLICT = 1 << 1;
+
+    public static int delta(int type, int cell, int value, int flags) {
+        return (type & 0xFF) << 24 | (cell & 0xFF) << 16 | (value & 0xFF) << 8 | (flags & 0xFF);
+    }
+
+    public static int type(int delta) {
+        return delta >>> 24;
+    }
+
+    public static int cell(int delta) {
+        return (delta >>> 16) & 0xFF;
+    }
+
+    public static int value(int delta) {
+        return (delta >>> 8) & 0xFF;
+    }
+
+    public static int flags(int delta) {
+        return delta & 0xFF;
+    }
+}
@@ -0,0 +1,248 @@
+package br.com.dio.sudoku.net;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.board.Space;
+import br.com.dio.sudoku.game.SudokuValidator;
+import br.com.dio.sudoku.util.ArgsParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static br.com.dio.sudoku.net.CoopProtocol.*;
+
+// Servidor do modo cooperativo: vários clientes editam o mesmo Board.
+//
+// Um único laço com Selector atende todos os clientes. O servidor é a autoridade: aplica os SETs
+// na ordem em que chegam, recusa alterações em números fixos e, ao fim de cada rodada do laço,
+// manda um UPDATE por célula alterada (várias jogadas na mesma célula viram um só) com a flag de
+// conflito calculada pelo SudokuValidator. Uma jogada muda o conflito de outras células da mesma
+// linha/coluna/bloco, então toda célula cuja flag virou também recebe UPDATE. Quem entra recebe as
+// 81 células (inclusive as vazias), substituindo o que tinha no tabuleiro local. As escritas de
+// cada cliente são acumuladas num buffer e enviadas de uma vez por rodada.
+//
+// uso: CoopServer [--port=7777] [--host=127.0.0.1] [tokens "col,row;value,fixed"...]
+public class CoopServer implements Runnable, Closeable {
+
+    private static final int OUT_BUFFER = 64 * 1024;
+
+    private final Board board;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final List<Client> clients = new ArrayList<>();
+
+    private final boolean[] dirty = new boolean[Board.SIZE * Board.SIZE];
+    private final boolean[] sentConflict = new boolean[Board.SIZE * Board.SIZE]; // flag do último UPDATE
+    private int dirtyCount;
+
+    private volatile boolean running = true;
+
+    public CoopServer(Board board, InetSocketAddress address) throws IOException {
+        this.board = board;
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        server.bind(address);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        boolean[][] conflicts = SudokuValidator.conflictMatrix(board);
+        for (int cell = 0; cell < sentConflict.length; cell++) {
+            sentConflict[cell] = conflicts[cell / Board.SIZE][cell % Board.SIZE];
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = DEFAULT_PORT;
+        String host = InetAddress.getLoopbackAddress().getHostAddress();
+        for (String arg : args) {
+            if (arg.startsWith("--port=")) port = Integer.parseInt(arg.substring(7));
+            else if (arg.startsWith("--host=")) host = arg.substring(7);
+        }
+        Board board = new Board();
+        ArgsParser.applyInitialSpaces(board, args);
+
+        CoopServer server = new CoopServer(board, new InetSocketAddress(host, port));
+        System.out.println("Servidor cooperativo em " + host + ":" + server.port());
+        server.run();
+    }
+
+    public int port() {
+        return server.socket().getLocalPort();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) accept();
+                    else {
+                        Client client = (Client) key.attachment();
+                        if (key.isReadable()) read(client);
+                        if (key.isValid() && key.isWritable()) flush(client);
+                    }
+                }
+                broadcastDirty();
+                for (int i = clients.size() - 1; i >= 0; i--) flush(clients.get(i));
+            }
+        } catch (IOException e) {
+            if (running) throw new IllegalStateException("Falha no servidor cooperativo", e);
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    // =========================
+    // Conexões
+    // =========================
+
+    private void accept() throws IOException {
+        SocketChannel ch = server.accept();
+        if (ch == null) return;
+        ch.configureBlocking(false);
+        ch.socket().setTcpNoDelay(true);
+        Client client = new Client(ch);
+        client.key = ch.register(selector, SelectionKey.OP_READ, client);
+        clients.add(client);
+
+        // estado atual como deltas, só para quem acabou de entrar; as vazias também vão para
+        // apagar o que o cliente tinha antes de conectar
+        boolean[][] conflicts = SudokuValidator.conflictMatrix(board);
+        for (int cell = 0; cell < dirty.length; cell++) {
+            client.queue(update(cell, board.getSpace(cell % Board.SIZE, cell / Board.SIZE), conflicts));
+        }
+        client.queue(delta(SYNC, 0, 0, 0));
+    }
+
+    private void read(Client client) {
+        int n;
+        try {
+            n = client.channel.read(client.in);
+        } catch (IOException e) {
+            n = -1;
+        }
+        if (n < 0) {
+            drop(client);
+            return;
+        }
+        client.in.flip();
+        while (client.in.remaining() >= DELTA_BYTES) handle(client, client.in.getInt());
+        client.in.compact();
+    }
+
+    private void handle(Client client, int delta) {
+        int cell = cell(delta);
+        int value = value(delta);
+        if (type(delta) != SET || cell >= dirty.length || value > 9) return; // ignora lixo
+
+        int col = cell % Board.SIZE;
+        int row = cell / Board.SIZE;
+        Space space = board.getSpace(col, row);
+        if (space.isFixed()) {
+            client.queue(delta(REJECT, cell, space.getValue(), FLAG_FIXED));
+            return;
+        }
+        board.setUserValue(col, row, value == 0 ? null : value);
+        if (!dirty[cell]) {
+            dirty[cell] = true;
+            dirtyCount++;
+        }
+    }
+
+    // células alteradas na rodada + as que ganharam ou perderam conflito por causa delas
+    private void broadcastDirty() {
+        if (dirtyCount == 0) return;
+        boolean[][] conflicts = SudokuValidator.conflictMatrix(board);
+        for (int cell = 0; cell < dirty.length; cell++) {
+            boolean conflict = conflicts[cell / Board.SIZE][cell % Board.SIZE];
+            if (!dirty[cell] && conflict == sentConflict[cell]) continue;
+            dirty[cell] = false;
+            sentConflict[cell] = conflict;
+            int delta = update(cell, board.getSpace(cell % Board.SIZE, cell / Board.SIZE), conflicts);
+            for (Client c : clients) c.queue(delta);
+        }
+        dirtyCount = 0;
+    }
+
+    private static int update(int cell, Space s, boolean[][] conflicts) {
+        int flags = (s.isFixed() ? FLAG_FIXED : 0)
+                | (conflicts[cell / Board.SIZE][cell % Board.SIZE] ? FLAG_CONFLICT : 0);
+        return delta(UPDATE, cell, s.getValue() == null ? 0 : s.getValue(), flags);
+    }
+
+    private void flush(Client client) {
+        if (!client.channel.isOpen()) return;
+        if (client.overflow) {
+            drop(client); // cliente lento demais: não deixa o buffer crescer sem limite
+            return;
+        }
+        if (client.out.position() == 0) return;
+        try {
+            client.out.flip();
+            client.channel.write(client.out);
+            client.out.compact();
+        } catch (IOException e) {
+            drop(client);
+            return;
+        }
+        int ops = client.out.position() > 0 ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+        client.key.interestOps(ops);
+    }
+
+    private void drop(Client client) {
+        clients.remove(client);
+        client.key.cancel();
+        try {
+            client.channel.close();
+        } catch (IOException ignored) {
+            // já estava fechando
+        }
+    }
+
+    private void closeQuietly() {
+        for (Client c : new ArrayList<>(clients)) drop(c);
+        try {
+            server.close();
+            selector.close();
+        } catch (IOException ignored) {
+            // encerrando
+        }
+    }
+
+    private static class Client {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(DELTA_BYTES * 256);
+        final ByteBuffer out = ByteBuffer.allocate(OUT_BUFFER);
+        SelectionKey key;
+        boolean overflow;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void queue(int delta) {
+            if (out.remaining() < DELTA_BYTES) overflow = true;
+            else out.putInt(delta);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.dio.sudoku.rules;
+
+// Anti-cavalo: duas células a um salto de cavalo de xadrez não podem ter o mesmo dígito.
+// Não forma unidades, só pares de vizinhos a mais (até 8 por célula).
+public class AntiKnightRule implements Rule {
+
+    private static final int[][] JUMPS = {{1, 2}, {2, 1}, {2, -1}, {1, -2}};
+
+    @Override
+    public String name() {
+        return "antiknight";
+    }
+
+    @Override
+    public void compileInto(RuleSet.Builder builder) {
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+                for (int[] j : JUMPS) {
+                    int r = row + j[0];
+                    int c = col + j[1];
+                    if (r < 9 && c >= 0 && c < 9) builder.addDifferent(row * 9 + col, r * 9 + c);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.dio.sudoku.rules;
+
+// Sudoku X: as duas diagonais principais também têm os dígitos de 1 a 9 sem repetir.
+public class DiagonalRule implements Rule {
+
+    @Override
+    public String name() {
+        return "diagonal";
+    }
+
+    @Override
+    public void compileInto(RuleSet.Builder builder) {
+        int[] main = new int[9];
+        int[] anti = new int[9];
+        for (int i = 0; i < 9; i++) {
+            main[i] = i * 9 + i;
+            anti[i] = i * 9 + (8 - i);
+        }
+        builder.addHouse(main);
+        builder.addHouse(anti);
+    }
+}
@@ -0,0 +1,21 @@
+package br.com.dio.sudoku.rules;
+
+// Hyper sudoku (windoku): quatro janelas 3x3 extras, começando nas linhas/colunas 1 e 5.
+public class HyperRule implements Rule {
+
+    @Override
+    public String name() {
+        return "hyper";
+    }
+
+    @Override
+    public void compileInto(RuleSet.Builder builder) {
+        for (int top : new int[]{1, 5}) {
+            for (int left : new int[]{1, 5}) {
+                int[] window = new int[9];
+                for (int k = 0; k < 9; k++) window[k] = (top + k / 3) * 9 + left + k % 3;
+                builder.addHouse(window);
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.dio.sudoku.rules;
+
+import java.util.Arrays;
+
+// Gaiola do killer sudoku: as células somam 'sum' e não repetem dígito.
+public class KillerCageRule implements Rule {
+
+    private final int sum;
+    private final int[] cells;
+
+    public KillerCageRule(int sum, int... cells) {
+        if (cells.length == 0 || cells.length > 9) {
+            throw new IllegalArgumentException("Gaiola precisa de 1 a 9 células: " + Arrays.toString(cells));
+        }
+        int min = cells.length * (cells.length + 1) / 2;
+        int max = cells.length * (19 - cells.length) / 2;
+        if (sum < min || sum > max) {
+            throw new IllegalArgumentException("Soma " + sum + " impossível para " + cells.length + " células");
+        }
+        this.sum = sum;
+        this.cells = cells.clone();
+    }
+
+    public int sum() {
+        return sum;
+    }
+
+    public int[] cells() {
+        return cells.clone();
+    }
+
+    @Override
+    public String name() {
+        return "cage " + sum + Arrays.toString(cells);
+    }
+
+    @Override
+    public void compileInto(RuleSet.Builder builder) {
+        builder.addCage(cells, sum);
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.dio.sudoku.rules;
+
+// Uma regra do tabuleiro (clássica ou variante). Não é usada jogada a jogada: cada regra só
+// descreve suas restrições uma vez para o RuleSet, que compila tudo em tabelas de vizinhos
+// e máscaras de bits. Células no formato de Grids (row * 9 + col).
+public interface Rule {
+
+    String name();
+
+    void compileInto(RuleSet.Builder builder);
+}
@@ -0,0 +1,298 @@
+package br.com.dio.sudoku.rules;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Conjunto de regras compilado uma vez em tabelas:
+//  - peers[cell]: todas as células que não podem repetir o dígito de 'cell' (de qualquer regra);
+//  - houses: grupos de 9 células que contêm cada dígito exatamente uma vez (para singles escondidos);
+//  - gaiolas: células, soma e, por (células livres, soma que falta), as combinações possíveis de
+//    dígitos como máscaras de 9 bits.
+// Validação, candidatos e o RuleSolver usam só essas tabelas; uma variante custa por jogada apenas
+// os vizinhos a mais que ela cria.
+public final class RuleSet {
+
+    static final int ALL = 0x1FF;
+
+    // COMBOS[k][s] = máscaras de k dígitos distintos que somam s
+    private static final int[][][] COMBOS = buildCombos();
+
+    private final List<Rule> rules;
+    private final int[][] peers;
+    private final int[][] houses;
+    private final int[][] cageCells;
+    private final int[] cageSum;
+    private final int[] cageOf;
+
+    private RuleSet(List<Rule> rules, Builder b) {
+        this.rules = List.copyOf(rules);
+        this.peers = new int[Grids.CELLS][];
+        for (int i = 0; i < Grids.CELLS; i++) {
+            int[] list = new int[Grids.CELLS];
+            int n = 0;
+            for (int j = 0; j < Grids.CELLS; j++) {
+                if (b.peer[i][j]) list[n++] = j;
+            }
+            peers[i] = Arrays.copyOf(list, n);
+        }
+        this.houses = b.houses.toArray(new int[0][]);
+        this.cageCells = b.cages.toArray(new int[0][]);
+        this.cageSum = b.sums.stream().mapToInt(Integer::intValue).toArray();
+        this.cageOf = b.cageOf.clone();
+    }
+
+    public static RuleSet of(Rule... rules) {
+        return of(List.of(rules));
+    }
+
+    public static RuleSet of(List<Rule> rules) {
+        Builder b = new Builder();
+        for (Rule rule : rules) rule.compileInto(b);
+        return new RuleSet(rules, b);
+    }
+
+    public static RuleSet standard() {
+        return of(new StandardRule());
+    }
+
+    // regras clássicas mais as variantes da especificação, separadas por '+':
+    //   diagonal, hyper, antiknight, cage=SOMA:c1,c2,... (células como row * 9 + col)
+    // ex.: "diagonal+cage=10:0,1+cage=17:9,10,11"
+    public static RuleSet parse(String spec) {
+        List<Rule> rules = new ArrayList<>();
+        rules.add(new StandardRule());
+        for (String part : spec.split("\\+")) {
+            String p = part.trim().toLowerCase(Locale.ROOT);
+            if (p.isEmpty() || p.equals("standard")) continue;
+            if (p.equals("diagonal") || p.equals("x")) rules.add(new DiagonalRule());
+            else if (p.equals("hyper") || p.equals("windoku")) rules.add(new HyperRule());
+            else if (p.equals("antiknight")) rules.add(new AntiKnightRule());
+            else if (p.startsWith("cage=")) rules.add(parseCage(p.substring(5)));
+            else throw new IllegalArgumentException("Regra desconhecida: " + part);
+        }
+        return of(rules);
+    }
+
+    // o valor de --rules=... nos argumentos, ou null se não houver (jogo clássico)
+    public static RuleSet fromArgs(String[] args) {
+        if (args == null) return null;
+        for (String arg : args) {
+            if (arg != null && arg.startsWith("--rules=")) return parse(arg.substring(8));
+        }
+        return null;
+    }
+
+    private static KillerCageRule parseCage(String s) {
+        try {
+            int colon = s.indexOf(':');
+            int sum = Integer.parseInt(s.substring(0, colon));
+            int[] cells = Arrays.stream(s.substring(colon + 1).split(",")).mapToInt(c -> Integer.parseInt(c.trim())).toArray();
+            return new KillerCageRule(sum, cells);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Gaiola inválida (esperado SOMA:c1,c2,...): " + s, e);
+        }
+    }
+
+    public List<Rule> rules() {
+        return rules;
+    }
+
+    public int[] peers(int cell) {
+        return peers[cell];
+    }
+
+    public int[][] houses() {
+        return houses;
+    }
+
+    public int cageCount() {
+        return cageSum.length;
+    }
+
+    // --------- validação e candidatos (grid no formato de Grids) ---------
+
+    // só olha os vizinhos da célula e a gaiola dela: é o custo por jogada
+    public boolean canPlace(byte[] grid, int cell, int value) {
+        for (int p : peers[cell]) {
+            if (grid[p] == value) return false;
+        }
+        int cage = cageOf[cell];
+        if (cage < 0) return true;
+        byte old = grid[cell];
+        grid[cell] = (byte) value;
+        int allowed = cageAllowed(cage, grid);
+        grid[cell] = old;
+        return allowed != 0;
+    }
+
+    // máscara (bit d-1) dos dígitos que cabem numa célula vazia
+    public int candidates(byte[] grid, int cell) {
+        int used = 0;
+        for (int p : peers[cell]) {
+            if (grid[p] != 0) used |= 1 << (grid[p] - 1);
+        }
+        int mask = ALL & ~used;
+        int cage = cageOf[cell];
+        return cage < 0 ? mask : mask & cageAllowed(cage, grid);
+    }
+
+    public boolean hasConflicts(byte[] grid) {
+        for (int i = 0; i < Grids.CELLS; i++) {
+            int v = grid[i];
+            if (v == 0) continue;
+            for (int p : peers[i]) {
+                if (p > i && grid[p] == v) return true;
+            }
+        }
+        for (int c = 0; c < cageSum.length; c++) {
+            if (cageAllowed(c, grid) == 0) return true;
+        }
+        return false;
+    }
+
+    // por célula: repete dígito com algum vizinho, ou está numa gaiola cuja soma já não fecha
+    public boolean[] conflicts(byte[] grid) {
+        boolean[] out = new boolean[Grids.CELLS];
+        for (int i = 0; i < Grids.CELLS; i++) {
+            int v = grid[i];
+            if (v == 0) continue;
+            for (int p : peers[i]) {
+                if (grid[p] == v) {
+                    out[i] = true;
+                    break;
+                }
+            }
+        }
+        for (int c = 0; c < cageSum.length; c++) {
+            if (cageAllowed(c, grid) != 0) continue;
+            for (int cell : cageCells[c]) {
+                if (grid[cell] != 0) out[cell] = true;
+            }
+        }
+        return out;
+    }
+
+    public boolean hasConflicts(Board board) {
+        return hasConflicts(Grids.fromBoard(board));
+    }
+
+    // mesmo formato de SudokuValidator.conflictMatrix: [row][col]
+    public boolean[][] conflictMatrix(Board board) {
+        boolean[] flat = conflicts(Grids.fromBoard(board));
+        boolean[][] out = new boolean[Board.SIZE][Board.SIZE];
+        for (int i = 0; i < Grids.CELLS; i++) out[i / 9][i % 9] = flat[i];
+        return out;
+    }
+
+    // --------- gaiolas ---------
+
+    int cageOf(int cell) {
+        return cageOf[cell];
+    }
+
+    int[] cageCells(int cage) {
+        return cageCells[cage];
+    }
+
+    // união das combinações que ainda completam a gaiola; 0 = impossível.
+    // Gaiola cheia com a soma certa devolve ALL (nada a restringir).
+    int cageAllowed(int cage, byte[] grid) {
+        int used = 0;
+        int placed = 0;
+        int free = 0;
+        for (int cell : cageCells[cage]) {
+            int v = grid[cell];
+            if (v == 0) {
+                free++;
+            } else {
+                used |= 1 << (v - 1);
+                placed += v;
+            }
+        }
+        int need = cageSum[cage] - placed;
+        if (free == 0) return need == 0 ? ALL : 0;
+        if (need <= 0 || need > 45) return 0;
+        int union = 0;
+        for (int combo : COMBOS[free][need]) {
+            if ((combo & used) == 0) union |= combo;
+        }
+        return union;
+    }
+
+    private static int[][][] buildCombos() {
+        List<List<Integer>> lists = new ArrayList<>();
+        for (int i = 0; i < 10 * 46; i++) lists.add(new ArrayList<>());
+        for (int mask = 0; mask <= ALL; mask++) {
+            int sum = 0;
+            for (int d = 0; d < 9; d++) {
+                if ((mask & (1 << d)) != 0) sum += d + 1;
+            }
+            lists.get(Integer.bitCount(mask) * 46 + sum).add(mask);
+        }
+        int[][][] combos = new int[10][46][];
+        for (int k = 0; k < 10; k++) {
+            for (int s = 0; s < 46; s++) {
+                combos[k][s] = lists.get(k * 46 + s).stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+        return combos;
+    }
+
+    // recebe as restrições das regras durante a compilação
+    public static final class Builder {
+
+        private final boolean[][] peer = new boolean[Grids.CELLS][Grids.CELLS];
+        private final List<int[]> houses = new ArrayList<>();
+        private final List<int[]> cages = new ArrayList<>();
+        private final List<Integer> sums = new ArrayList<>();
+        private final int[] cageOf = new int[Grids.CELLS];
+
+        private Builder() {
+            Arrays.fill(cageOf, -1);
+        }
+
+        // 9 células com todos os dígitos, sem repetir
+        public void addHouse(int[] cells) {
+            if (cells.length != 9) throw new IllegalArgumentException("Uma unidade precisa de 9 células");
+            allDifferent(cells);
+            houses.add(cells.clone());
+        }
+
+        public void addDifferent(int a, int b) {
+            check(a);
+            check(b);
+            if (a == b) return;
+            peer[a][b] = true;
+            peer[b][a] = true;
+        }
+
+        public void addCage(int[] cells, int sum) {
+            allDifferent(cells);
+            int index = sums.size();
+            for (int cell : cells) {
+                if (cageOf[cell] >= 0) throw new IllegalArgumentException("Célula " + cell + " em duas gaiolas");
+                cageOf[cell] = index;
+            }
+            cages.add(cells.clone());
+            sums.add(sum);
+        }
+
+        private void allDifferent(int[] cells) {
+            for (int i = 0; i < cells.length; i++) {
+                for (int j = i + 1; j < cells.length; j++) {
+                    if (cells[i] == cells[j]) throw new IllegalArgumentException("Célula repetida: " + cells[i]);
+                    addDifferent(cells[i], cells[j]);
+                }
+            }
+        }
+
+        private static void check(int cell) {
+            if (cell < 0 || cell >= Grids.CELLS) throw new IllegalArgumentException("Célula fora do tabuleiro: " + cell);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.dio.sudoku.rules;
+
+import br.com.dio.sudoku.solver.Solver;
+import br.com.dio.sudoku.util.Grids;
+
+// Solver guiado pelas tabelas do RuleSet: ao colocar um dígito ele sai dos candidatos dos
+// vizinhos compilados, singles escondidos usam as houses (inclusive diagonais e janelas) e as
+// gaiolas cortam candidatos pelas combinações de soma. O resto é MRV com cópia por nível,
+// como no PropagatingSolver.
+public class RuleSolver implements Solver {
+
+    private final RuleSet rules;
+
+    public RuleSolver(RuleSet rules) {
+        this.rules = rules;
+    }
+
+    @Override
+    public String name() {
+        return "rules";
+    }
+
+    @Override
+    public byte[] solve(byte[] grid) {
+        byte[] out = new byte[Grids.CELLS];
+        return search(grid, 1, out) == 1 ? out : null;
+    }
+
+    @Override
+    public int countSolutions(byte[] grid, int limit) {
+        return search(grid, limit, null);
+    }
+
+    private int search(byte[] grid, int limit, byte[] firstSolution) {
+        byte[] values = new byte[Grids.CELLS];
+        int[] cand = new int[Grids.CELLS];
+        for (int i = 0; i < Grids.CELLS; i++) cand[i] = RuleSet.ALL;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            int v = grid[i];
+            if (v == 0) continue;
+            if (v < 1 || v > 9 || (cand[i] & (1 << (v - 1))) == 0) return 0;
+            assign(values, cand, i, v);
+        }
+        int[] found = {0};
+        dfs(values, cand, limit, firstSolution, found);
+        return found[0];
+    }
+
+    private void assign(byte[] values, int[] cand, int cell, int v) {
+        values[cell] = (byte) v;
+        cand[cell] = 0;
+        int clear = ~(1 << (v - 1));
+        for (int p : rules.peers(cell)) cand[p] &= clear;
+    }
+
+    private boolean propagate(byte[] values, int[] cand) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            for (int c = 0; c < rules.cageCount(); c++) {
+                int allowed = rules.cageAllowed(c, values);
+                if (allowed == 0) return false;
+                for (int cell : rules.cageCells(c)) {
+                    if (values[cell] == 0) cand[cell] &= allowed; // célula sem candidato cai no laço de baixo
+                }
+            }
+
+            for (int i = 0; i < Grids.CELLS; i++) {
+                if (values[i] != 0) continue;
+                int c = cand[i];
+                if (c == 0) return false;
+                if ((c & (c - 1)) == 0) {
+                    assign(values, cand, i, Integer.numberOfTrailingZeros(c) + 1);
+                    changed = true;
+                }
+            }
+
+            for (int[] house : rules.houses()) {
+                int once = 0;
+                int twice = 0;
+                int placed = 0;
+                for (int cell : house) {
+                    int c = cand[cell];
+                    twice |= once & c;
+                    once |= c;
+                    if (values[cell] != 0) placed |= 1 << (values[cell] - 1);
+                }
+                if ((once | placed) != RuleSet.ALL) return false;
+                int single = once & ~twice;
+                if (single == 0) continue;
+                for (int cell : house) {
+                    int hit = cand[cell] & single;
+                    if (hit == 0) continue;
+                    if ((hit & (hit - 1)) != 0) return false;
+                    assign(values, cand, cell, Integer.numberOfTrailingZeros(hit) + 1);
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void dfs(byte[] values, int[] cand, int limit, byte[] firstSolution, int[] found) {
+        if (!propagate(values, cand)) return;
+
+        int best = -1;
+        int bestCount = 10;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (values[i] != 0) continue;
+            int n = Integer.bitCount(cand[i]);
+            if (n < bestCount) {
+                best = i;
+                bestCount = n;
+                if (n == 2) break;
+            }
+        }
+        if (best < 0) {
+            if (found[0]++ == 0 && firstSolution != null) {
+                System.arraycopy(values, 0, firstSolution, 0, Grids.CELLS);
+            }
+            return;
+        }
+
+        int options = cand[best];
+        while (options != 0 && found[0] < limit) {
+            int bit = options & -options;
+            options ^= bit;
+            byte[] v = values.clone();
+            int[] c = cand.clone();
+            assign(v, c, best, Integer.numberOfTrailingZeros(bit) + 1);
+            dfs(v, c, limit, firstSolution, found);
+        }
+    }
+}
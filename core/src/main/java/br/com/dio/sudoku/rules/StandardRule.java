@@ -0,0 +1,17 @@
+package br.com.dio.sudoku.rules;
+
+import br.com.dio.sudoku.util.Grids;
+
+// Linhas, colunas e blocos 3x3.
+public class StandardRule implements Rule {
+
+    @Override
+    public String name() {
+        return "standard";
+    }
+
+    @Override
+    public void compileInto(RuleSet.Builder builder) {
+        for (int[] unit : Grids.UNITS) builder.addHouse(unit);
+    }
+}
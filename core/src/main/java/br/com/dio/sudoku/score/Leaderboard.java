@@ -0,0 +1,338 @@
+package br.com.dio.sudoku.score;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.library.PuzzleHash;
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Ranking por puzzle (chave = PuzzleHash.canonical das dicas): menor tempo primeiro, depois menos
+// jogadas, depois quem enviou antes.
+//
+// Cada puzzle tem um ConcurrentSkipListMap com todos os resultados em ordem e uma árvore de
+// contagem por milissegundo de tempo (CountTree): 8 níveis de 16 contadores, com os nós criados
+// só quando o primeiro resultado cai debaixo deles, então um puzzle com poucos resultados ocupa
+// poucos KB. A posição de um resultado é a quantidade de tempos menores na árvore (no máximo
+// 8 x 15 leituras, não importa quantos resultados existam) + os empates no mesmo milissegundo que
+// vêm antes dele na skip list. Tudo sem lock, com qualquer número de envios simultâneos. Durante
+// envios concorrentes a posição pode não contar quem ainda está sendo inserido; parado, é exata.
+//
+// Com arquivo, o ranking é carregado na criação e salvo periodicamente (só se mudou) num snapshot
+// compacto: nomes num dicionário, tempos em ordem com delta em varint. Grava num temporário e
+// troca o arquivo, então um snapshot interrompido não estraga o anterior.
+public class Leaderboard implements Closeable {
+
+    public record Entry(String player, long millis, int moves) {
+    }
+
+    // rank começa em 1
+    public record Placement(int rank, int total) {
+    }
+
+    public static final long DEFAULT_SNAPSHOT_MILLIS = 30_000;
+
+    private static final int MAGIC = 0x53444c42; // "SDLB"
+    private static final int VERSION = 1;
+
+    private static Leaderboard shared;
+
+    private final Map<Long, Ranking> rankings = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong changes = new AtomicLong();
+    private long savedChanges;
+
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    // só em memória
+    public Leaderboard() {
+        this.file = null;
+        this.scheduler = null;
+    }
+
+    public Leaderboard(Path file, long snapshotMillis) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) load(file);
+        savedChanges = changes.get();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sudoku-leaderboard");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotMillis, snapshotMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // ranking do processo; -Dsudoku.leaderboard=arquivo guarda em disco (salvo também ao sair)
+    public static synchronized Leaderboard shared() {
+        if (shared != null) return shared;
+        String path = System.getProperty("sudoku.leaderboard");
+        if (path == null || path.isBlank()) {
+            shared = new Leaderboard();
+            return shared;
+        }
+        try {
+            shared = new Leaderboard(Path.of(path), DEFAULT_SNAPSHOT_MILLIS);
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "sudoku-leaderboard-exit"));
+        } catch (IOException e) {
+            System.err.println("Ranking sem arquivo (" + path + "): " + e.getMessage());
+            shared = new Leaderboard();
+        }
+        return shared;
+    }
+
+    // o mesmo puzzle rotacionado/espelhado ou com dígitos trocados cai no mesmo ranking
+    public static long puzzleKey(Board board) {
+        return PuzzleHash.canonical(Grids.givensFromBoard(board));
+    }
+
+    // -Dsudoku.player=nome, senão o usuário do sistema
+    public static String defaultPlayer() {
+        String name = System.getProperty("sudoku.player");
+        if (name == null || name.isBlank()) name = System.getProperty("user.name", "jogador");
+        return name;
+    }
+
+    // =========================
+    // Consultas
+    // =========================
+
+    public Placement submit(long puzzle, String player, long millis, int moves) {
+        if (millis < 0 || moves < 0) throw new IllegalArgumentException("Tempo e jogadas não podem ser negativos");
+        Ranking r = rankings.computeIfAbsent(puzzle, k -> new Ranking());
+        Score score = new Score(millis, moves, sequence.incrementAndGet());
+        r.add(score, new Entry(player, millis, moves));
+        changes.incrementAndGet();
+        return new Placement(r.rank(score), r.size.get());
+    }
+
+    // posição que um resultado com esse tempo/jogadas teria agora (sem enviar)
+    public int rank(long puzzle, long millis, int moves) {
+        Ranking r = rankings.get(puzzle);
+        return r == null ? 1 : r.rank(new Score(millis, moves, Long.MIN_VALUE));
+    }
+
+    public int size(long puzzle) {
+        Ranking r = rankings.get(puzzle);
+        return r == null ? 0 : r.size.get();
+    }
+
+    public List<Entry> top(long puzzle, int n) {
+        Ranking r = rankings.get(puzzle);
+        List<Entry> list = new ArrayList<>(Math.max(0, Math.min(n, 64)));
+        if (r == null) return list;
+        for (Entry e : r.entries.values()) {
+            if (list.size() >= n) break;
+            list.add(e);
+        }
+        return list;
+    }
+
+    // =========================
+    // Snapshot
+    // =========================
+
+    public synchronized void snapshot() throws IOException {
+        if (file == null) return;
+        long version = changes.get();
+        if (version == savedChanges) return;
+
+        Map<String, Integer> names = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        Map<Long, List<Entry>> copy = new HashMap<>();
+        rankings.forEach((puzzle, r) -> {
+            List<Entry> entries = new ArrayList<>(r.entries.values());
+            for (Entry e : entries) {
+                if (names.putIfAbsent(e.player(), dictionary.size()) == null) dictionary.add(e.player());
+            }
+            copy.put(puzzle, entries);
+        });
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            writeVarint(out, dictionary.size());
+            for (String name : dictionary) out.writeUTF(name);
+            writeVarint(out, copy.size());
+            for (Map.Entry<Long, List<Entry>> p : copy.entrySet()) {
+                out.writeLong(p.getKey());
+                writeVarint(out, p.getValue().size());
+                long previous = 0;
+                for (Entry e : p.getValue()) {
+                    writeVarint(out, e.millis() - previous); // em ordem de tempo: delta >= 0
+                    writeVarint(out, e.moves());
+                    writeVarint(out, names.get(e.player()));
+                    previous = e.millis();
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        savedChanges = version;
+    }
+
+    @Override
+    public void close() {
+        if (scheduler == null) return;
+        scheduler.shutdownNow();
+        snapshotQuietly();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException e) {
+            System.err.println("Falha ao salvar o ranking: " + e.getMessage());
+        }
+    }
+
+    private void load(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Arquivo de ranking inválido: " + path);
+            }
+            String[] dictionary = new String[(int) readVarint(in)];
+            for (int i = 0; i < dictionary.length; i++) dictionary[i] = in.readUTF();
+            long puzzles = readVarint(in);
+            for (int p = 0; p < puzzles; p++) {
+                long puzzle = in.readLong();
+                long count = readVarint(in);
+                long millis = 0;
+                for (int i = 0; i < count; i++) {
+                    millis += readVarint(in);
+                    int moves = (int) readVarint(in);
+                    submit(puzzle, dictionary[(int) readVarint(in)], millis, moves);
+                }
+            }
+        }
+    }
+
+    private static void writeVarint(DataOutputStream out, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("varint inválido no arquivo de ranking");
+    }
+
+    // =========================
+    // Por puzzle
+    // =========================
+
+    private record Score(long millis, int moves, long seq) implements Comparable<Score> {
+        @Override
+        public int compareTo(Score o) {
+            int c = Long.compare(millis, o.millis);
+            if (c == 0) c = Integer.compare(moves, o.moves);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+
+    private static final class Ranking {
+        final ConcurrentSkipListMap<Score, Entry> entries = new ConcurrentSkipListMap<>();
+        final AtomicInteger size = new AtomicInteger();
+        final CountTree times = new CountTree();
+
+        void add(Score score, Entry entry) {
+            entries.put(score, entry);
+            times.increment(CountTree.key(score.millis));
+            size.incrementAndGet();
+        }
+
+        int rank(Score score) {
+            long key = CountTree.key(score.millis);
+            long before = times.countBelow(key);
+            // empates no mesmo milissegundo (ou todos os tempos além do limite da árvore)
+            before += entries.subMap(new Score(key, Integer.MIN_VALUE, Long.MIN_VALUE), true, score, false).size();
+            return (int) before + 1;
+        }
+    }
+
+    // Contagem de tempos em ms como uma árvore de dígitos hexadecimais: o nó de cada nível guarda
+    // quantos tempos caem em cada um dos 16 filhos. Cobre 2^32 ms (~49 dias); tempos maiores
+    // contam como o último milissegundo e são desempatados pela skip list.
+    private static final class CountTree {
+        static final int BITS = 4;
+        static final int FANOUT = 1 << BITS;
+        static final int LEVELS = 8;
+        static final long MAX_KEY = (1L << (BITS * LEVELS)) - 1;
+
+        final Node root = new Node(LEVELS - 1);
+
+        static long key(long millis) {
+            return Math.min(millis, MAX_KEY);
+        }
+
+        void increment(long key) {
+            Node node = root;
+            for (int level = LEVELS - 1; ; level--) {
+                int d = digit(key, level);
+                node.counts.incrementAndGet(d);
+                if (level == 0) return;
+                Node child = node.children.get(d);
+                if (child == null) {
+                    Node fresh = new Node(level - 1);
+                    child = node.children.compareAndExchange(d, null, fresh);
+                    if (child == null) child = fresh;
+                }
+                node = child;
+            }
+        }
+
+        // quantos tempos são menores que key
+        long countBelow(long key) {
+            long count = 0;
+            Node node = root;
+            for (int level = LEVELS - 1; node != null; level--) {
+                int d = digit(key, level);
+                for (int i = 0; i < d; i++) count += node.counts.get(i);
+                if (level == 0) break;
+                node = node.children.get(d);
+            }
+            return count;
+        }
+
+        private static int digit(long key, int level) {
+            return (int) (key >>> (level * BITS)) & (FANOUT - 1);
+        }
+
+        private static final class Node {
+            final AtomicLongArray counts = new AtomicLongArray(FANOUT);
+            final AtomicReferenceArray<Node> children; // null nas folhas (milissegundo)
+
+            Node(int level) {
+                children = level == 0 ? null : new AtomicReferenceArray<>(FANOUT);
+            }
+        }
+    }
+}
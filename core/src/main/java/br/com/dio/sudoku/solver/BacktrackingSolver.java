@@ -0,0 +1,38 @@
+package br.com.dio.sudoku.solver;
+
+// Backtracking com bitmasks e escolha da célula com menos candidatos (SolutionSearch).
+// Com SolverTrace, cada chamada grava o rastro da busca (sem eliminações: este motor não as tem).
+public class BacktrackingSolver implements Solver {
+
+    private final SolverTrace trace; // null = sem rastro
+
+    public BacktrackingSolver() {
+        this(null);
+    }
+
+    public BacktrackingSolver(SolverTrace trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    public String name() {
+        return "backtracking";
+    }
+
+    @Override
+    public byte[] solve(byte[] grid) {
+        SolutionSearch search = newSearch(grid);
+        return search.advance() ? search.current().clone() : null;
+    }
+
+    @Override
+    public int countSolutions(byte[] grid, int limit) {
+        return (int) newSearch(grid).count(limit);
+    }
+
+    private SolutionSearch newSearch(byte[] grid) {
+        if (trace == null) return new SolutionSearch(grid);
+        trace.begin(name(), grid);
+        return new SolutionSearch(grid, trace);
+    }
+}
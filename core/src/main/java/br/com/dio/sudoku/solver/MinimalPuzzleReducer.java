@@ -0,0 +1,142 @@
+package br.com.dio.sudoku.solver;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.ArgsParser;
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+// Reduz um puzzle de solução única até ficar mínimo: toda dica que sobra é necessária.
+//
+// Uma passada só, na ordem sorteada: cada dica é tirada se o puzzle sem ela continua com solução
+// única. Uma dica necessária continua necessária depois de tirar outras (menos dicas nunca
+// diminuem o número de soluções), então cada dica é decidida uma vez: O(k) testes para k dicas.
+//
+// Com paralelismo > 1 as próximas dicas da ordem são testadas juntas contra o puzzle atual e
+// confirmadas em ordem: até a primeira removível vale tudo (ela sai); depois dela as necessárias
+// continuam valendo e só as removíveis voltam para a fila, porque foram testadas com a dica que
+// acabou de sair. O resultado é o mesmo da passada sequencial com a mesma ordem.
+//
+// uso: MinimalPuzzleReducer [--seed=S] tokens "col,row;value,fixed"...
+//      MinimalPuzzleReducer --batch=entrada.txt [--out=saida.txt] [--seed=S]   (uma linha de 81 chars por puzzle)
+public class MinimalPuzzleReducer {
+
+    private final Solver solver;
+    private final int parallelism;
+
+    public MinimalPuzzleReducer(Solver solver, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism deve ser >= 1");
+        this.solver = solver;
+        this.parallelism = parallelism;
+    }
+
+    public MinimalPuzzleReducer(Solver solver) {
+        this(solver, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    public MinimalPuzzleReducer() {
+        this(new BacktrackingSolver());
+    }
+
+    public static void main(String[] args) throws IOException {
+        String batch = null;
+        String out = null;
+        long seed = 0;
+        for (String arg : args) {
+            if (arg.startsWith("--batch=")) batch = arg.substring(8);
+            else if (arg.startsWith("--out=")) out = arg.substring(6);
+            else if (arg.startsWith("--seed=")) seed = Long.parseLong(arg.substring(7));
+        }
+
+        if (batch == null) {
+            Board board = new Board();
+            ArgsParser.applyInitialSpaces(board, args);
+            byte[] minimal = new MinimalPuzzleReducer().reduce(Grids.fromBoard(board), new Random(seed));
+            System.out.println(Grids.format(minimal) + " (" + Grids.countClues(minimal) + " dicas)");
+            return;
+        }
+
+        List<String> lines = Files.readAllLines(Path.of(batch), StandardCharsets.UTF_8);
+        long s = seed;
+        long t0 = System.nanoTime();
+        // paralelo entre puzzles; cada redução é sequencial
+        MinimalPuzzleReducer reducer = new MinimalPuzzleReducer(new BacktrackingSolver(), 1);
+        String[] results = IntStream.range(0, lines.size()).parallel()
+                .mapToObj(i -> reduceLine(reducer, lines.get(i).trim(), new Random(s + i)))
+                .toArray(String[]::new);
+        try (PrintWriter w = out == null
+                ? new PrintWriter(System.out, true)
+                : new PrintWriter(new BufferedWriter(Files.newBufferedWriter(Path.of(out), StandardCharsets.UTF_8)))) {
+            for (String r : results) {
+                if (r != null) w.println(r);
+            }
+        }
+        System.err.printf("%d puzzles em %.2f s%n", lines.size(), (System.nanoTime() - t0) / 1e9);
+    }
+
+    private static String reduceLine(MinimalPuzzleReducer reducer, String line, Random rnd) {
+        if (line.isEmpty()) return null;
+        try {
+            return Grids.format(reducer.reduce(Grids.parse(line), rnd));
+        } catch (IllegalArgumentException e) {
+            return "# " + e.getMessage();
+        }
+    }
+
+    // ordem das tentativas sorteada por rnd (ordens diferentes chegam a puzzles mínimos diferentes)
+    public byte[] reduce(byte[] puzzle, Random rnd) {
+        if (!solver.hasUniqueSolution(puzzle)) {
+            throw new IllegalArgumentException("O puzzle não tem solução única: " + Grids.format(puzzle));
+        }
+        byte[] current = puzzle.clone();
+        int[] open = order(current, rnd); // open[head..] = dicas ainda não decididas, na ordem
+        int head = 0;
+
+        while (head < open.length) {
+            int size = Math.min(parallelism, open.length - head);
+            boolean[] removable = new boolean[size];
+            byte[] base = current;
+            int from = head;
+            if (size == 1) removable[0] = isUniqueWithout(base, open[from]);
+            else IntStream.range(0, size).parallel().forEach(k -> removable[k] = isUniqueWithout(base, open[from + k]));
+
+            int first = 0;
+            while (first < size && !removable[first]) first++;
+            head += size;
+            if (first == size) continue; // todas necessárias
+
+            current[open[from + first]] = 0;
+            // removíveis depois dela foram testadas com ela no puzzle: voltam para a frente da fila
+            for (int k = size - 1; k > first; k--) {
+                if (removable[k]) open[--head] = open[from + k];
+            }
+        }
+        return current;
+    }
+
+    private boolean isUniqueWithout(byte[] puzzle, int cell) {
+        byte[] trial = puzzle.clone();
+        trial[cell] = 0;
+        return solver.hasUniqueSolution(trial);
+    }
+
+    private static int[] order(byte[] puzzle, Random rnd) {
+        int[] cells = IntStream.range(0, Grids.CELLS).filter(i -> puzzle[i] != 0).toArray();
+        for (int i = cells.length - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int t = cells[i];
+            cells[i] = cells[j];
+            cells[j] = t;
+        }
+        return cells;
+    }
+}
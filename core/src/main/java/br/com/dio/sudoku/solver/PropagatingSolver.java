@@ -0,0 +1,177 @@
+package br.com.dio.sudoku.solver;
+
+import br.com.dio.sudoku.util.Grids;
+
+// Segundo motor: propagação de restrições (singles "nus" e "escondidos") antes de cada
+// escolha, com a célula de menos candidatos (MRV) e cópia do estado a cada nível.
+// A propagação resolve a maior parte dos puzzles sem ramificar, o que torna o tempo
+// previsível o bastante para checagens com prazo (search com deadline).
+// Com SolverTrace, cada busca grava escolhas, singles, eliminações de candidatos e voltas.
+public class PropagatingSolver implements Solver {
+
+    // search() devolve isto quando o prazo acabou antes de terminar
+    public static final int TIMED_OUT = -1;
+
+    private static final int ALL = 0x1FF;
+
+    private final SolverTrace trace; // null = sem rastro
+
+    public PropagatingSolver() {
+        this(null);
+    }
+
+    public PropagatingSolver(SolverTrace trace) {
+        this.trace = trace;
+    }
+
+    @Override
+    public String name() {
+        return "propagating";
+    }
+
+    @Override
+    public byte[] solve(byte[] grid) {
+        byte[] out = new byte[Grids.CELLS];
+        return search(grid, 1, Long.MAX_VALUE, out) == 1 ? out : null;
+    }
+
+    @Override
+    public int countSolutions(byte[] grid, int limit) {
+        return search(grid, limit, Long.MAX_VALUE, null);
+    }
+
+    // conta soluções até 'limit' (copiando a primeira para 'firstSolution', se não for null);
+    // TIMED_OUT se System.nanoTime() passar de 'deadlineNanos' no meio da busca
+    public int search(byte[] grid, int limit, long deadlineNanos, byte[] firstSolution) {
+        if (trace != null) trace.begin(name(), grid);
+        Run run = new Run(limit, deadlineNanos, firstSolution, trace);
+        byte[] values = new byte[Grids.CELLS];
+        int[] cand = new int[Grids.CELLS];
+        for (int i = 0; i < Grids.CELLS; i++) cand[i] = ALL;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            int v = grid[i];
+            if (v == 0) continue;
+            if (v < 1 || v > 9 || (cand[i] & (1 << (v - 1))) == 0) return 0;
+            assign(values, cand, i, v);
+        }
+        run.dfs(values, cand, 0);
+        return run.timedOut ? TIMED_OUT : run.found;
+    }
+
+    private static void assign(byte[] values, int[] cand, int cell, int v) {
+        values[cell] = (byte) v;
+        cand[cell] = 0;
+        int clear = ~(1 << (v - 1));
+        for (int p : Grids.PEERS[cell]) cand[p] &= clear;
+    }
+
+    // igual a assign, registrando o evento e os candidatos eliminados nos vizinhos
+    private static void assign(byte[] values, int[] cand, int cell, int v, SolverTrace trace, int type, int depth) {
+        if (trace != null) {
+            trace.record(type, depth, cell, v);
+            int bit = 1 << (v - 1);
+            for (int p : Grids.PEERS[cell]) {
+                if ((cand[p] & bit) != 0) trace.record(SolverTrace.ELIMINATE, depth, p, v);
+            }
+        }
+        assign(values, cand, cell, v);
+    }
+
+    // aplica singles até não mudar mais nada; false se chegar a uma contradição
+    private static boolean propagate(byte[] values, int[] cand, SolverTrace trace, int depth) {
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 0; i < Grids.CELLS; i++) {
+                if (values[i] != 0) continue;
+                int c = cand[i];
+                if (c == 0) return false;
+                if ((c & (c - 1)) == 0) {
+                    assign(values, cand, i, Integer.numberOfTrailingZeros(c) + 1, trace, SolverTrace.PROPAGATE, depth);
+                    changed = true;
+                }
+            }
+            for (int[] unit : Grids.UNITS) {
+                // once = dígitos possíveis em pelo menos uma célula, twice = em duas ou mais
+                int once = 0;
+                int twice = 0;
+                int placed = 0;
+                for (int cell : unit) {
+                    int c = cand[cell];
+                    twice |= once & c;
+                    once |= c;
+                    if (values[cell] != 0) placed |= 1 << (values[cell] - 1);
+                }
+                if ((once | placed) != ALL) return false;
+                int single = once & ~twice;
+                if (single == 0) continue;
+                for (int cell : unit) {
+                    int hit = cand[cell] & single;
+                    if (hit == 0) continue;
+                    if ((hit & (hit - 1)) != 0) return false; // dois dígitos que só cabem aqui
+                    assign(values, cand, cell, Integer.numberOfTrailingZeros(hit) + 1, trace, SolverTrace.PROPAGATE, depth);
+                    changed = true;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static final class Run {
+        final int limit;
+        final long deadline;
+        final byte[] firstSolution;
+        final SolverTrace trace;
+        int found;
+        int nodes;
+        boolean timedOut;
+
+        Run(int limit, long deadline, byte[] firstSolution, SolverTrace trace) {
+            this.limit = limit;
+            this.deadline = deadline;
+            this.firstSolution = firstSolution;
+            this.trace = trace;
+        }
+
+        // depth = escolhas feitas até aqui
+        void dfs(byte[] values, int[] cand, int depth) {
+            if ((++nodes & 31) == 0 && deadline != Long.MAX_VALUE && System.nanoTime() > deadline) {
+                timedOut = true;
+                return;
+            }
+            if (!propagate(values, cand, trace, depth)) return;
+
+            int best = -1;
+            int bestCount = 10;
+            for (int i = 0; i < Grids.CELLS; i++) {
+                if (values[i] != 0) continue;
+                int n = Integer.bitCount(cand[i]);
+                if (n < bestCount) {
+                    best = i;
+                    bestCount = n;
+                    if (n == 2) break;
+                }
+            }
+            if (best < 0) {
+                if (trace != null) trace.record(SolverTrace.SOLUTION, depth, 0, 0);
+                if (found++ == 0 && firstSolution != null) {
+                    System.arraycopy(values, 0, firstSolution, 0, Grids.CELLS);
+                }
+                return;
+            }
+
+            int options = cand[best];
+            while (options != 0 && found < limit && !timedOut) {
+                int bit = options & -options;
+                options ^= bit;
+                byte[] v = values.clone();
+                int[] c = cand.clone();
+                int digit = Integer.numberOfTrailingZeros(bit) + 1;
+                assign(v, c, best, digit, trace, SolverTrace.ASSIGN, depth + 1);
+                dfs(v, c, depth + 1);
+                // a busca continua (outro dígito aqui ou mais acima): desfaz este ramo
+                if (trace != null && found < limit && !timedOut) trace.record(SolverTrace.BACKTRACK, depth + 1, best, digit);
+            }
+        }
+    }
+}
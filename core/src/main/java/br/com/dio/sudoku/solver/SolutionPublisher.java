@@ -0,0 +1,83 @@
+package br.com.dio.sudoku.solver;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Publica as soluções de um tabuleiro respeitando backpressure: a busca só anda quando o
+// assinante pede (request(n)) e fica parada, com o estado guardado, entre um pedido e outro.
+// Cada assinatura faz a sua própria busca, executada no Executor informado.
+public class SolutionPublisher implements Flow.Publisher<Board> {
+
+    private final byte[] grid;
+    private final boolean[] fixed;
+    private final Executor executor;
+
+    public SolutionPublisher(Board board, Executor executor) {
+        this.grid = Grids.fromBoard(board);
+        this.fixed = SolutionSpliterator.fixedCells(board);
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Board> subscriber) {
+        Subscription s = new Subscription(subscriber, new SolutionSearch(grid));
+        subscriber.onSubscribe(s);
+    }
+
+    private final class Subscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super Board> subscriber;
+        private final SolutionSearch search;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger(); // garante um único laço de entrega por vez
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        Subscription(Flow.Subscriber<? super Board> subscriber, SolutionSearch search) {
+            this.subscriber = subscriber;
+            this.search = search;
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) return;
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("request deve ser > 0: " + n);
+            } else {
+                demand.getAndAccumulate(n, (cur, add) -> cur + add < 0 ? Long.MAX_VALUE : cur + add);
+            }
+            if (wip.getAndIncrement() == 0) executor.execute(this::drain);
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            int missed = 1;
+            while (true) {
+                if (invalidRequest != null) {
+                    cancelled = true;
+                    subscriber.onError(invalidRequest);
+                    return;
+                }
+                while (!cancelled && demand.get() > 0) {
+                    if (!search.advance()) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    subscriber.onNext(SolutionSpliterator.toBoard(search.current(), fixed));
+                    demand.decrementAndGet();
+                }
+                missed = wip.addAndGet(-missed);
+                if (missed == 0) return;
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package br.com.dio.sudoku.solver;
+
+import br.com.dio.sudoku.util.Grids;
+
+// Busca em profundidade com pilha explícita (sem recursão), que pode ser pausada entre uma
+// solução e outra: advance() continua exatamente de onde parou. Memória constante (81 níveis).
+//
+// Cada nível da pilha guarda a célula escolhida (a de menos candidatos) e os candidatos que
+// ainda faltam testar. trySplit() entrega metade dos candidatos pendentes do nível mais raso
+// para uma nova busca independente, o que permite percorrer a árvore em paralelo.
+// Com SolverTrace, cada escolha, célula forçada e volta é registrada (buscas do split não rastreiam).
+public final class SolutionSearch {
+
+    private final byte[] grid;
+    private final int[] rows = new int[9];
+    private final int[] cols = new int[9];
+    private final int[] boxes = new int[9];
+
+    private final int[] cellAt = new int[Grids.CELLS];
+    private final int[] remaining = new int[Grids.CELLS];
+    private final int emptyCount;
+    private int depth;
+    private int floor;                 // níveis abaixo deste pertencem a outra busca (split)
+    private boolean started;
+    private boolean pendingBacktrack;  // a última solução entregue ainda está no grid
+    private boolean exhausted;
+    private final SolverTrace trace; // null = sem rastro
+
+    public SolutionSearch(byte[] givens) {
+        this(givens, null);
+    }
+
+    public SolutionSearch(byte[] givens, SolverTrace trace) {
+        this.grid = givens.clone();
+        this.trace = trace;
+        int empties = 0;
+        boolean consistent = true;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            int v = grid[i];
+            if (v == 0) {
+                empties++;
+                continue;
+            }
+            int bit = 1 << (v - 1);
+            int r = i / 9;
+            int c = i % 9;
+            int b = Grids.box(i);
+            if (v < 1 || v > 9 || ((rows[r] | cols[c] | boxes[b]) & bit) != 0) consistent = false;
+            rows[r] |= bit;
+            cols[c] |= bit;
+            boxes[b] |= bit;
+        }
+        this.emptyCount = empties;
+        this.exhausted = !consistent;
+    }
+
+    // cópia para o split: mesmo estado até o nível 'level', que recebe os candidatos 'taken'
+    private SolutionSearch(SolutionSearch parent, int level, int taken) {
+        this.grid = parent.grid.clone();
+        this.trace = null;
+        System.arraycopy(parent.rows, 0, rows, 0, 9);
+        System.arraycopy(parent.cols, 0, cols, 0, 9);
+        System.arraycopy(parent.boxes, 0, boxes, 0, 9);
+        this.emptyCount = parent.emptyCount;
+        System.arraycopy(parent.cellAt, 0, cellAt, 0, level + 1);
+
+        // desfaz os níveis >= level da cópia
+        for (int d = parent.depth - 1; d >= level; d--) unplace(parent.cellAt[d]);
+
+        int bit = taken & -taken;
+        place(cellAt[level], bit);
+        remaining[level] = taken ^ bit;
+        this.depth = level + 1;
+        this.floor = level;
+        this.started = true;
+    }
+
+    // próxima solução; o grid (ver current()) fica com ela até a próxima chamada
+    public boolean advance() {
+        if (exhausted) return false;
+        if (!started) {
+            started = true;
+        } else if (pendingBacktrack) {
+            pendingBacktrack = false;
+            if (!backtrack()) return false;
+        }
+        while (true) {
+            if (depth == emptyCount) {
+                pendingBacktrack = true;
+                if (trace != null) trace.record(SolverTrace.SOLUTION, depth, 0, 0);
+                return true;
+            }
+            if (!descend() && !backtrack()) return false;
+        }
+    }
+
+    // conta as soluções que faltam, até 'limit'
+    public long count(long limit) {
+        long n = 0;
+        while (n < limit && advance()) n++;
+        return n;
+    }
+
+    // o grid com a última solução encontrada (não copie se só for ler)
+    public byte[] current() {
+        return grid;
+    }
+
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    // entrega metade dos candidatos pendentes do nível mais raso; null se não houver o que dividir
+    public SolutionSearch trySplit() {
+        if (exhausted) return null;
+        if (!started) {
+            started = true;
+            if (depth == emptyCount) return null;
+            if (!descend()) {
+                exhausted = true; // a primeira célula já não tem candidato
+                return null;
+            }
+        }
+        for (int d = floor; d < depth; d++) {
+            int rem = remaining[d];
+            if (rem == 0) continue;
+            int taken = rem;
+            int half = Integer.bitCount(rem) / 2;
+            for (int i = 0; i < half; i++) taken &= taken - 1; // mantém os bits mais altos
+            remaining[d] = rem ^ taken;
+            return new SolutionSearch(this, d, taken);
+        }
+        return null;
+    }
+
+    // escolhe a célula vazia com menos candidatos e coloca o primeiro; false se ela não tiver nenhum
+    private boolean descend() {
+        int best = -1;
+        int bestMask = 0;
+        int bestCount = 10;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (grid[i] != 0) continue;
+            int mask = candidates(i);
+            int n = Integer.bitCount(mask);
+            if (n < bestCount) {
+                best = i;
+                bestMask = mask;
+                bestCount = n;
+                if (n <= 1) break;
+            }
+        }
+        if (bestCount == 0) return false;
+        int bit = bestMask & -bestMask;
+        cellAt[depth] = best;
+        remaining[depth] = bestMask ^ bit;
+        place(best, bit);
+        depth++;
+        if (trace != null) trace.record(bestCount == 1 ? SolverTrace.PROPAGATE : SolverTrace.ASSIGN, depth, best, grid[best]);
+        return true;
+    }
+
+    // vai para o próximo candidato ainda não testado; false quando a busca acabou
+    private boolean backtrack() {
+        while (depth > floor) {
+            int d = depth - 1;
+            int cell = cellAt[d];
+            if (trace != null) trace.record(SolverTrace.BACKTRACK, depth, cell, grid[cell]);
+            unplace(cell);
+            int rem = remaining[d];
+            if (rem != 0) {
+                int bit = rem & -rem;
+                remaining[d] = rem ^ bit;
+                place(cell, bit);
+                if (trace != null) trace.record(SolverTrace.ASSIGN, depth, cell, grid[cell]);
+                return true;
+            }
+            depth--;
+        }
+        exhausted = true;
+        return false;
+    }
+
+    private int candidates(int cell) {
+        return ~(rows[cell / 9] | cols[cell % 9] | boxes[Grids.box(cell)]) & 0x1FF;
+    }
+
+    private void place(int cell, int bit) {
+        grid[cell] = (byte) (Integer.numberOfTrailingZeros(bit) + 1);
+        rows[cell / 9] |= bit;
+        cols[cell % 9] |= bit;
+        boxes[Grids.box(cell)] |= bit;
+    }
+
+    private void unplace(int cell) {
+        int bit = ~(1 << (grid[cell] - 1));
+        grid[cell] = 0;
+        rows[cell / 9] &= bit;
+        cols[cell % 9] &= bit;
+        boxes[Grids.box(cell)] &= bit;
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.dio.sudoku.solver;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+// Todas as soluções de um tabuleiro, uma por vez, sob demanda. Os números fixos do tabuleiro
+// original continuam fixos em cada Board entregue; o resto vira valor do usuário.
+public class SolutionSpliterator implements Spliterator<Board> {
+
+    private final SolutionSearch search;
+    private final boolean[] fixed;
+
+    public SolutionSpliterator(Board board) {
+        this(new SolutionSearch(Grids.fromBoard(board)), fixedCells(board));
+    }
+
+    private SolutionSpliterator(SolutionSearch search, boolean[] fixed) {
+        this.search = search;
+        this.fixed = fixed;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Board> action) {
+        if (!search.advance()) return false;
+        action.accept(toBoard(search.current(), fixed));
+        return true;
+    }
+
+    @Override
+    public Spliterator<Board> trySplit() {
+        SolutionSearch other = search.trySplit();
+        return other == null ? null : new SolutionSpliterator(other, fixed);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return DISTINCT | NONNULL | IMMUTABLE;
+    }
+
+    static Board toBoard(byte[] grid, boolean[] fixed) {
+        Board board = new Board();
+        for (int i = 0; i < Grids.CELLS; i++) {
+            int col = i % Board.SIZE;
+            int row = i / Board.SIZE;
+            if (fixed[i]) board.setFixed(col, row, grid[i]);
+            else board.setUserValue(col, row, (int) grid[i]);
+        }
+        return board;
+    }
+
+    static boolean[] fixedCells(Board board) {
+        boolean[] fixed = new boolean[Grids.CELLS];
+        for (int i = 0; i < Grids.CELLS; i++) {
+            fixed[i] = board.getSpace(i % Board.SIZE, i / Board.SIZE).isFixed();
+        }
+        return fixed;
+    }
+}
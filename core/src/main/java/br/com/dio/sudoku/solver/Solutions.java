@@ -0,0 +1,70 @@
+package br.com.dio.sudoku.solver;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Enumeração de todas as soluções de um tabuleiro (útil para tabuleiros pouco preenchidos).
+public class Solutions {
+
+    // Stream preguiçoso; com parallel = true a busca é dividida entre as threads do ForkJoinPool
+    public static Stream<Board> stream(Board board, boolean parallel) {
+        return StreamSupport.stream(new SolutionSpliterator(board), parallel);
+    }
+
+    public static Flow.Publisher<Board> publisher(Board board, Executor executor) {
+        return new SolutionPublisher(board, executor);
+    }
+
+    // conta sem criar um Board por solução; em paralelo no pool comum
+    public static long count(Board board) {
+        return count(Grids.fromBoard(board));
+    }
+
+    public static long count(byte[] grid) {
+        return ForkJoinPool.commonPool().invoke(new CountTask(new SolutionSearch(grid)));
+    }
+
+    private static final int SPLIT_CHECK_INTERVAL = 1024;
+
+    private static class CountTask extends RecursiveTask<Long> {
+        private final SolutionSearch search;
+
+        CountTask(SolutionSearch search) {
+            this.search = search;
+        }
+
+        @Override
+        protected Long compute() {
+            List<CountTask> forked = new ArrayList<>();
+            long n = 0;
+            while (true) {
+                // divide enquanto houver threads sem trabalho
+                if (getSurplusQueuedTaskCount() < 2) {
+                    SolutionSearch other = search.trySplit();
+                    if (other != null) {
+                        CountTask task = new CountTask(other);
+                        task.fork();
+                        forked.add(task);
+                        continue;
+                    }
+                }
+                // conta um lote e volta a olhar se vale dividir
+                int batch = 0;
+                while (batch < SPLIT_CHECK_INTERVAL && search.advance()) batch++;
+                n += batch;
+                if (batch < SPLIT_CHECK_INTERVAL) break;
+            }
+            for (CountTask task : forked) n += task.join();
+            return n;
+        }
+    }
+}
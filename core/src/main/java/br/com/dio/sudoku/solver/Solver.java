@@ -0,0 +1,18 @@
+package br.com.dio.sudoku.solver;
+
+// Motor de resolução. Os tabuleiros estão no formato de Grids (byte[81], 0 = vazio) e os
+// valores já preenchidos (fixos ou não) são tratados como dicas.
+public interface Solver {
+
+    String name();
+
+    // uma solução completa, ou null se não houver
+    byte[] solve(byte[] grid);
+
+    // quantas soluções existem, parando de contar ao chegar em 'limit' (2 basta para unicidade)
+    int countSolutions(byte[] grid, int limit);
+
+    default boolean hasUniqueSolution(byte[] grid) {
+        return countSolutions(grid, 2) == 1;
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.dio.sudoku.solver;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.ArgsParser;
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Rastro de uma busca (BacktrackingSolver / PropagatingSolver com trace) para achar por que um
+// puzzle demora: cada atribuição, eliminação de candidato e retrocesso vira um int num buffer
+// alocado uma vez só. Gravar um evento não aloca nada; quando o buffer enche, os eventos seguintes
+// são só contados (total()).
+//
+// Layout do int: [0..6] célula | [7..10] dígito | [11..13] tipo | [14..20] profundidade.
+// Profundidade 0 = antes de qualquer escolha; BACKTRACK na profundidade d desfaz tudo o que foi
+// colocado em d ou mais fundo (é assim que o TraceReplayViewer reconstrói o tabuleiro).
+//
+// Arquivo: "SDTR", versão, nome do solver, puzzle (81 bytes), total, quantidade e os eventos.
+//
+// uso: SolverTrace [--solver=propagating|backtracking] [--limit=1] [--capacity=2000000]
+//                  [--out=rastro.bin] (--puzzle=<81 caracteres> | tokens "col,row;value,fixed"...)
+public final class SolverTrace {
+
+    public static final int ASSIGN = 0;     // escolha (chute) de um dígito
+    public static final int PROPAGATE = 1;  // dígito forçado (único candidato / único lugar)
+    public static final int ELIMINATE = 2;  // candidato removido de uma célula
+    public static final int BACKTRACK = 3;  // volta: desfaz a profundidade e abaixo
+    public static final int SOLUTION = 4;   // solução completa encontrada
+
+    public static final int DEFAULT_CAPACITY = 2_000_000;
+
+    private static final String[] TYPE_NAMES = {"atribuições", "propagações", "eliminações", "retrocessos", "soluções"};
+    private static final int MAGIC = 0x53445452; // "SDTR"
+    private static final int VERSION = 1;
+
+    private final int[] events;
+    private int size;
+    private long total;
+    private String solver = "";
+    private byte[] puzzle = new byte[Grids.CELLS];
+
+    public SolverTrace() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public SolverTrace(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity deve ser >= 1");
+        this.events = new int[capacity];
+    }
+
+    public static void main(String[] args) throws IOException {
+        String solverName = "propagating";
+        int limit = 1;
+        int capacity = DEFAULT_CAPACITY;
+        String out = null;
+        byte[] grid = null;
+        for (String arg : args) {
+            if (arg.startsWith("--solver=")) solverName = arg.substring(9);
+            else if (arg.startsWith("--limit=")) limit = Integer.parseInt(arg.substring(8));
+            else if (arg.startsWith("--capacity=")) capacity = Integer.parseInt(arg.substring(11));
+            else if (arg.startsWith("--out=")) out = arg.substring(6);
+            else if (arg.startsWith("--puzzle=")) grid = Grids.parseLenient(arg.substring(9));
+        }
+        if (grid == null) {
+            Board board = new Board();
+            ArgsParser.applyInitialSpaces(board, args);
+            grid = Grids.fromBoard(board);
+        }
+
+        SolverTrace trace = new SolverTrace(capacity);
+        Solver solver = switch (solverName) {
+            case "backtracking" -> new BacktrackingSolver(trace);
+            case "propagating" -> new PropagatingSolver(trace);
+            default -> throw new IllegalArgumentException("Solver sem rastro: " + solverName);
+        };
+        long t0 = System.nanoTime();
+        int solutions = solver.countSolutions(grid, limit);
+        double ms = (System.nanoTime() - t0) / 1e6;
+
+        System.out.printf("%s: %d solução(ões) em %.1f ms, %d eventos%s%n", solver.name(), solutions, ms,
+                trace.total(), trace.overflowed() ? " (guardados " + trace.size() + ")" : "");
+        trace.printSummary();
+        if (out != null) {
+            trace.write(Path.of(out));
+            System.out.println("Rastro gravado em " + out);
+        }
+    }
+
+    // =========================
+    // Gravação
+    // =========================
+
+    // começa um rastro novo (cada solve/countSolutions chama isto)
+    public void begin(String solver, byte[] grid) {
+        this.solver = solver;
+        this.puzzle = grid.clone();
+        this.size = 0;
+        this.total = 0;
+    }
+
+    public void record(int type, int depth, int cell, int digit) {
+        total++;
+        if (size < events.length) events[size++] = pack(type, depth, cell, digit);
+    }
+
+    public static int pack(int type, int depth, int cell, int digit) {
+        return cell | digit << 7 | type << 11 | Math.min(depth, 127) << 14;
+    }
+
+    public static int cell(int event) {
+        return event & 0x7F;
+    }
+
+    public static int digit(int event) {
+        return (event >>> 7) & 0xF;
+    }
+
+    public static int type(int event) {
+        return (event >>> 11) & 0x7;
+    }
+
+    public static int depth(int event) {
+        return (event >>> 14) & 0x7F;
+    }
+
+    // =========================
+    // Consulta
+    // =========================
+
+    public int size() {
+        return size;
+    }
+
+    public int event(int index) {
+        return events[index];
+    }
+
+    // inclui os eventos que não couberam no buffer
+    public long total() {
+        return total;
+    }
+
+    public boolean overflowed() {
+        return total > size;
+    }
+
+    public String solver() {
+        return solver;
+    }
+
+    public byte[] puzzle() {
+        return puzzle.clone();
+    }
+
+    // contagem por tipo, profundidade máxima e as células com mais retrocessos
+    public void printSummary() {
+        long[] byType = new long[TYPE_NAMES.length];
+        int[] backtracks = new int[Grids.CELLS];
+        int maxDepth = 0;
+        for (int i = 0; i < size; i++) {
+            int e = events[i];
+            byType[type(e)]++;
+            maxDepth = Math.max(maxDepth, depth(e));
+            if (type(e) == BACKTRACK) backtracks[cell(e)]++;
+        }
+        for (int t = 0; t < TYPE_NAMES.length; t++) System.out.printf("  %-12s %d%n", TYPE_NAMES[t], byType[t]);
+        System.out.println("  profundidade máxima: " + maxDepth);
+
+        StringBuilder hot = new StringBuilder();
+        for (int k = 0; k < 5; k++) {
+            int best = -1;
+            for (int c = 0; c < Grids.CELLS; c++) {
+                if (backtracks[c] > 0 && (best < 0 || backtracks[c] > backtracks[best])) best = c;
+            }
+            if (best < 0) break;
+            hot.append(hot.length() == 0 ? "" : ", ")
+                    .append("(col ").append(best % 9).append(", row ").append(best / 9).append(") x").append(backtracks[best]);
+            backtracks[best] = 0;
+        }
+        System.out.println("  células com mais retrocessos: " + (hot.length() == 0 ? "-" : hot));
+    }
+
+    // =========================
+    // Arquivo
+    // =========================
+
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(solver);
+            out.write(puzzle);
+            out.writeLong(total);
+            out.writeInt(size);
+            for (int i = 0; i < size; i++) out.writeInt(events[i]);
+        }
+    }
+
+    public static SolverTrace read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new IOException("Arquivo de rastro inválido: " + file);
+            }
+            String solver = in.readUTF();
+            byte[] puzzle = new byte[Grids.CELLS];
+            in.readFully(puzzle);
+            long total = in.readLong();
+            int size = in.readInt();
+            if (size < 0 || size > total) throw new IOException("Arquivo de rastro inválido: " + file);
+
+            SolverTrace trace = new SolverTrace(Math.max(1, size));
+            trace.begin(solver, puzzle);
+            for (int i = 0; i < size; i++) trace.events[i] = in.readInt();
+            trace.size = size;
+            trace.total = total;
+            return trace;
+        }
+    }
+}
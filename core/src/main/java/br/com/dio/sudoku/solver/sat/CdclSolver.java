@@ -0,0 +1,417 @@
+package br.com.dio.sudoku.solver.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Solver SAT CDCL pequeno e autocontido (sem binários externos):
+//  - dois literais vigiados por cláusula (propagação só olha as cláusulas cujo vigia ficou falso);
+//  - aprendizado pelo primeiro ponto de implicação única (1UIP) e retrocesso não cronológico;
+//  - escolha de variável por atividade (VSIDS, heap de máximo) com fase salva;
+//  - reinícios na sequência de Luby (100 conflitos por unidade).
+//
+// Internamente o literal é 2 * var + sinal (var a partir de 0, sinal 1 = negado); a interface
+// pública usa literais DIMACS. Dá para chamar solve() de novo depois de addClause(), o que
+// permite enumerar soluções com cláusulas de bloqueio.
+public final class CdclSolver {
+
+    private static final int LUBY_UNIT = 100;
+    private static final double VAR_DECAY = 0.95;
+
+    private final int vars;
+    private final List<int[]> clauses = new ArrayList<>();
+    private final IntList[] watches;      // por literal: cláusulas a revisitar quando ele ficar verdadeiro
+
+    private final byte[] assign;          // por variável: 0 livre, 1 verdadeira, -1 falsa
+    private final int[] level;
+    private final int[] reason;           // cláusula que implicou a variável (-1 = decisão ou unitária)
+    private final boolean[] phase;
+    private final int[] trail;
+    private int trailSize;
+    private int qhead;
+    private final IntList trailLim = new IntList();
+
+    private final double[] activity;
+    private double varInc = 1;
+    private final VarHeap heap;
+
+    private final boolean[] seen;
+    private final IntList learnt = new IntList();
+
+    private boolean unsat;
+    private boolean[] model;
+    private long conflicts;
+    private long decisions;
+
+    public CdclSolver(int variables) {
+        this.vars = variables;
+        this.watches = new IntList[2 * variables];
+        for (int i = 0; i < watches.length; i++) watches[i] = new IntList();
+        this.assign = new byte[variables];
+        this.level = new int[variables];
+        this.reason = new int[variables];
+        this.phase = new boolean[variables];
+        this.trail = new int[variables];
+        this.activity = new double[variables];
+        this.seen = new boolean[variables];
+        this.heap = new VarHeap();
+        for (int v = 0; v < variables; v++) heap.insert(v);
+    }
+
+    public static CdclSolver of(Cnf cnf) {
+        CdclSolver solver = new CdclSolver(cnf.variables());
+        for (int[] clause : cnf.clauses()) {
+            if (!solver.addClause(clause)) break;
+        }
+        return solver;
+    }
+
+    // false se a fórmula já ficou insatisfazível
+    public boolean addClause(int... dimacs) {
+        if (unsat) return false;
+        cancelUntil(0);
+
+        int[] lits = new int[dimacs.length];
+        for (int i = 0; i < dimacs.length; i++) {
+            int v = Math.abs(dimacs[i]) - 1;
+            if (v < 0 || v >= vars) throw new IllegalArgumentException("Literal fora do intervalo: " + dimacs[i]);
+            lits[i] = 2 * v + (dimacs[i] < 0 ? 1 : 0);
+        }
+        Arrays.sort(lits);
+
+        // tira repetidos e falsos no nível 0; cláusula já satisfeita ou tautologia é descartada
+        int n = 0;
+        for (int i = 0; i < lits.length; i++) {
+            int lit = lits[i];
+            if (i > 0 && lit == lits[i - 1]) continue;
+            if (i > 0 && lit == (lits[i - 1] ^ 1)) return true;
+            int val = valueOf(lit);
+            if (val == 1) return true;
+            if (val == 0) lits[n++] = lit;
+        }
+
+        if (n == 0) {
+            unsat = true;
+            return false;
+        }
+        if (n == 1) {
+            enqueue(lits[0], -1);
+            if (propagate() >= 0) unsat = true;
+            return !unsat;
+        }
+        attach(Arrays.copyOf(lits, n));
+        return true;
+    }
+
+    public boolean solve() {
+        if (unsat) return false;
+        cancelUntil(0);
+        if (propagate() >= 0) {
+            unsat = true;
+            return false;
+        }
+        for (int restart = 0; ; restart++) {
+            int result = search(LUBY_UNIT * luby(restart));
+            if (result != 0) return result > 0;
+            cancelUntil(0);
+        }
+    }
+
+    // valor da variável DIMACS 'var' no último modelo encontrado
+    public boolean value(int var) {
+        return model[var - 1];
+    }
+
+    // modelo indexado pela variável DIMACS (posição 0 não usada)
+    public boolean[] model() {
+        boolean[] out = new boolean[vars + 1];
+        System.arraycopy(model, 0, out, 1, vars);
+        return out;
+    }
+
+    public long conflicts() {
+        return conflicts;
+    }
+
+    public long decisions() {
+        return decisions;
+    }
+
+    // 1 = satisfazível, -1 = insatisfazível, 0 = estourou o orçamento de conflitos (reiniciar)
+    private int search(long budget) {
+        long local = 0;
+        while (true) {
+            int confl = propagate();
+            if (confl >= 0) {
+                conflicts++;
+                local++;
+                if (trailLim.size == 0) {
+                    unsat = true;
+                    return -1;
+                }
+                int backLevel = analyze(confl);
+                cancelUntil(backLevel);
+                if (learnt.size == 1) {
+                    enqueue(learnt.data[0], -1);
+                } else {
+                    int[] clause = learnt.toArray();
+                    int index = attach(clause);
+                    enqueue(clause[0], index);
+                }
+                varInc /= VAR_DECAY;
+                continue;
+            }
+            if (local >= budget) return 0;
+
+            int next = pickBranch();
+            if (next < 0) {
+                model = new boolean[vars];
+                for (int v = 0; v < vars; v++) model[v] = assign[v] > 0;
+                return 1;
+            }
+            decisions++;
+            trailLim.add(trailSize);
+            enqueue(next, -1);
+        }
+    }
+
+    private int valueOf(int lit) {
+        int a = assign[lit >> 1];
+        return (lit & 1) == 0 ? a : -a;
+    }
+
+    private void enqueue(int lit, int from) {
+        int v = lit >> 1;
+        assign[v] = (byte) ((lit & 1) == 0 ? 1 : -1);
+        level[v] = trailLim.size;
+        reason[v] = from;
+        trail[trailSize++] = lit;
+    }
+
+    private int attach(int[] clause) {
+        int index = clauses.size();
+        clauses.add(clause);
+        watches[clause[0] ^ 1].add(index);
+        watches[clause[1] ^ 1].add(index);
+        return index;
+    }
+
+    // propaga o que está na fila; devolve a cláusula em conflito ou -1
+    private int propagate() {
+        while (qhead < trailSize) {
+            int p = trail[qhead++];
+            int falseLit = p ^ 1;
+            IntList ws = watches[p];
+            int[] w = ws.data;
+            int n = ws.size;
+            int i = 0;
+            int j = 0;
+            while (i < n) {
+                int ci = w[i++];
+                int[] c = clauses.get(ci);
+                if (c[0] == falseLit) {
+                    c[0] = c[1];
+                    c[1] = falseLit;
+                }
+                if (valueOf(c[0]) == 1) {
+                    w[j++] = ci;
+                    continue;
+                }
+                boolean moved = false;
+                for (int k = 2; k < c.length; k++) {
+                    if (valueOf(c[k]) != -1) {
+                        c[1] = c[k];
+                        c[k] = falseLit;
+                        watches[c[1] ^ 1].add(ci);
+                        moved = true;
+                        break;
+                    }
+                }
+                if (moved) continue;
+
+                w[j++] = ci;
+                if (valueOf(c[0]) == -1) {
+                    while (i < n) w[j++] = w[i++];
+                    ws.size = j;
+                    qhead = trailSize;
+                    return ci;
+                }
+                enqueue(c[0], ci);
+            }
+            ws.size = j;
+        }
+        return -1;
+    }
+
+    // monta a cláusula aprendida (1UIP) em 'learnt' e devolve o nível para onde voltar
+    private int analyze(int confl) {
+        learnt.size = 0;
+        learnt.add(0); // posição do literal UIP
+        int current = trailLim.size;
+        int pathCount = 0;
+        int p = -1;
+        int index = trailSize - 1;
+
+        do {
+            int[] c = clauses.get(confl);
+            for (int k = p < 0 ? 0 : 1; k < c.length; k++) {
+                int q = c[k];
+                int v = q >> 1;
+                if (seen[v] || level[v] == 0) continue;
+                seen[v] = true;
+                bump(v);
+                if (level[v] >= current) pathCount++;
+                else learnt.add(q);
+            }
+            while (!seen[trail[index] >> 1]) index--;
+            p = trail[index--];
+            confl = reason[p >> 1];
+            seen[p >> 1] = false;
+            pathCount--;
+        } while (pathCount > 0);
+        learnt.data[0] = p ^ 1;
+
+        // o literal de maior nível (depois do UIP) vira o segundo vigia
+        int backLevel = 0;
+        for (int k = 1; k < learnt.size; k++) {
+            int lit = learnt.data[k];
+            seen[lit >> 1] = false;
+            if (level[lit >> 1] > backLevel) {
+                backLevel = level[lit >> 1];
+                learnt.data[k] = learnt.data[1];
+                learnt.data[1] = lit;
+            }
+        }
+        return backLevel;
+    }
+
+    private void cancelUntil(int target) {
+        if (trailLim.size <= target) return;
+        int start = trailLim.data[target];
+        for (int i = trailSize - 1; i >= start; i--) {
+            int v = trail[i] >> 1;
+            phase[v] = assign[v] > 0;
+            assign[v] = 0;
+            if (!heap.contains(v)) heap.insert(v);
+        }
+        trailSize = start;
+        qhead = start;
+        trailLim.size = target;
+    }
+
+    private int pickBranch() {
+        while (!heap.isEmpty()) {
+            int v = heap.removeMax();
+            if (assign[v] == 0) return 2 * v + (phase[v] ? 0 : 1);
+        }
+        return -1;
+    }
+
+    private void bump(int v) {
+        if ((activity[v] += varInc) > 1e100) {
+            for (int i = 0; i < vars; i++) activity[i] *= 1e-100;
+            varInc *= 1e-100;
+        }
+        if (heap.contains(v)) heap.increased(v);
+    }
+
+    // 1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ...
+    static int luby(int i) {
+        int size = 1;
+        int seq = 0;
+        while (size < i + 1) {
+            seq++;
+            size = 2 * size + 1;
+        }
+        int x = i;
+        while (size - 1 != x) {
+            size = (size - 1) >> 1;
+            seq--;
+            x = x % size;
+        }
+        return 1 << seq;
+    }
+
+    private static final class IntList {
+        int[] data = new int[4];
+        int size;
+
+        void add(int v) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = v;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+
+    // heap de máximo por atividade, com a posição de cada variável para poder subir/remover
+    private final class VarHeap {
+        private final int[] heap = new int[vars];
+        private final int[] pos = new int[vars];
+        private int size;
+
+        VarHeap() {
+            Arrays.fill(pos, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        boolean contains(int v) {
+            return pos[v] >= 0;
+        }
+
+        void insert(int v) {
+            heap[size] = v;
+            pos[v] = size;
+            up(size++);
+        }
+
+        void increased(int v) {
+            up(pos[v]);
+        }
+
+        int removeMax() {
+            int top = heap[0];
+            pos[top] = -1;
+            int last = heap[--size];
+            if (size > 0) {
+                heap[0] = last;
+                pos[last] = 0;
+                down(0);
+            }
+            return top;
+        }
+
+        private void up(int i) {
+            int v = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >> 1;
+                if (activity[heap[parent]] >= activity[v]) break;
+                heap[i] = heap[parent];
+                pos[heap[i]] = i;
+                i = parent;
+            }
+            heap[i] = v;
+            pos[v] = i;
+        }
+
+        private void down(int i) {
+            int v = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && activity[heap[child + 1]] > activity[heap[child]]) child++;
+                if (activity[heap[child]] <= activity[v]) break;
+                heap[i] = heap[child];
+                pos[heap[i]] = i;
+                i = child;
+            }
+            heap[i] = v;
+            pos[v] = i;
+        }
+    }
+}
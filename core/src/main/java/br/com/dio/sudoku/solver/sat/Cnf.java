@@ -0,0 +1,49 @@
+package br.com.dio.sudoku.solver.sat;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fórmula em forma normal conjuntiva, com literais no formato DIMACS: variáveis de 1 a n,
+// negativo = negação. Só guarda as cláusulas; quem resolve é o CdclSolver.
+public class Cnf {
+
+    private final int variables;
+    private final List<int[]> clauses = new ArrayList<>();
+
+    public Cnf(int variables) {
+        this.variables = variables;
+    }
+
+    public int variables() {
+        return variables;
+    }
+
+    public List<int[]> clauses() {
+        return clauses;
+    }
+
+    public void add(int... literals) {
+        for (int lit : literals) {
+            if (lit == 0 || Math.abs(lit) > variables) {
+                throw new IllegalArgumentException("Literal fora do intervalo: " + lit);
+            }
+        }
+        clauses.add(literals.clone());
+    }
+
+    // formato DIMACS ("p cnf V C" e uma cláusula por linha terminada em 0), para comparar com solvers externos
+    public void writeDimacs(Writer out, String comment) throws IOException {
+        if (comment != null) out.write("c " + comment + "\n");
+        out.write("p cnf " + variables + " " + clauses.size() + "\n");
+        StringBuilder sb = new StringBuilder(64);
+        for (int[] clause : clauses) {
+            sb.setLength(0);
+            for (int lit : clause) sb.append(lit).append(' ');
+            sb.append("0\n");
+            out.write(sb.toString());
+        }
+        out.flush();
+    }
+}
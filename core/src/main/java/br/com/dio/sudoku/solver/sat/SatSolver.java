@@ -0,0 +1,53 @@
+package br.com.dio.sudoku.solver.sat;
+
+import br.com.dio.sudoku.solver.Solver;
+
+// Terceiro motor: codifica o tabuleiro em CNF (SudokuCnf) e resolve com o CdclSolver.
+// No 9x9 comum perde para a busca com bitmasks, mas o aprendizado de cláusulas escala bem
+// melhor em tabuleiros N x N maiores (boxSize 4 ou 5) e com regras extras.
+public class SatSolver implements Solver {
+
+    private final int boxSize;
+
+    public SatSolver() {
+        this(3);
+    }
+
+    public SatSolver(int boxSize) {
+        this.boxSize = boxSize;
+    }
+
+    @Override
+    public String name() {
+        return "sat";
+    }
+
+    @Override
+    public byte[] solve(byte[] grid) {
+        CdclSolver sat = CdclSolver.of(SudokuCnf.encode(grid, boxSize));
+        return sat.solve() ? SudokuCnf.decode(sat.model(), boxSize) : null;
+    }
+
+    // cada solução encontrada é bloqueada com uma cláusula sobre as células vazias e o solver continua
+    @Override
+    public int countSolutions(byte[] grid, int limit) {
+        int n = boxSize * boxSize;
+        CdclSolver sat = CdclSolver.of(SudokuCnf.encode(grid, boxSize));
+        int empties = 0;
+        for (byte v : grid) if (v == 0) empties++;
+
+        int count = 0;
+        while (count < limit && sat.solve()) {
+            count++;
+            if (empties == 0) break;
+            byte[] solution = SudokuCnf.decode(sat.model(), boxSize);
+            int[] block = new int[empties];
+            int k = 0;
+            for (int cell = 0; cell < grid.length; cell++) {
+                if (grid[cell] == 0) block[k++] = -SudokuCnf.var(n, cell / n, cell % n, solution[cell]);
+            }
+            if (!sat.addClause(block)) break;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,119 @@
+package br.com.dio.sudoku.solver.sat;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.ArgsParser;
+import br.com.dio.sudoku.util.Grids;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Codifica um sudoku N x N (N = boxSize², 9x9 por padrão) em CNF: uma variável por
+// (linha, coluna, dígito), ou seja 729 no 9x9. Cláusulas:
+//  - cada célula tem pelo menos um dígito e no máximo um (pares);
+//  - cada dígito aparece pelo menos uma vez e no máximo uma em cada linha, coluna e bloco;
+//  - cada dica vira uma cláusula unitária.
+// O grid segue o formato de Grids estendido para N x N (row * N + col, 0 = vazio).
+//
+// uso: SudokuCnf [--out=arquivo.cnf] tokens "col,row;value,fixed"...   (DIMACS na saída padrão sem --out)
+public class SudokuCnf {
+
+    public static void main(String[] args) throws IOException {
+        String out = null;
+        for (String arg : args) {
+            if (arg.startsWith("--out=")) out = arg.substring(6);
+        }
+        Board board = new Board();
+        ArgsParser.applyInitialSpaces(board, args);
+        byte[] grid = Grids.fromBoard(board);
+        Cnf cnf = encode(grid, 3);
+
+        String comment = "sudoku " + Grids.format(grid) + " - variavel = (row * 9 + col) * 9 + digito";
+        if (out == null) {
+            cnf.writeDimacs(new OutputStreamWriter(System.out, StandardCharsets.US_ASCII), comment);
+        } else {
+            try (Writer w = Files.newBufferedWriter(Path.of(out), StandardCharsets.US_ASCII)) {
+                cnf.writeDimacs(w, comment);
+            }
+            System.out.println(cnf.variables() + " variáveis, " + cnf.clauses().size() + " cláusulas em " + out);
+        }
+    }
+
+    // variável DIMACS do dígito 'digit' (1..N) na célula (row, col)
+    public static int var(int n, int row, int col, int digit) {
+        return (row * n + col) * n + digit;
+    }
+
+    public static Cnf encode(byte[] grid, int boxSize) {
+        int n = boxSize * boxSize;
+        if (grid.length != n * n) {
+            throw new IllegalArgumentException("Grid com " + grid.length + " células, esperado " + n * n);
+        }
+        Cnf cnf = new Cnf(n * n * n);
+
+        int[][] units = units(boxSize);
+        for (int cell = 0; cell < n * n; cell++) {
+            int row = cell / n;
+            int col = cell % n;
+            int[] any = new int[n];
+            for (int d = 1; d <= n; d++) any[d - 1] = var(n, row, col, d);
+            cnf.add(any);
+            atMostOne(cnf, any);
+        }
+        for (int[] unit : units) {
+            for (int d = 1; d <= n; d++) {
+                int[] places = new int[n];
+                for (int k = 0; k < n; k++) places[k] = var(n, unit[k] / n, unit[k] % n, d);
+                cnf.add(places);
+                atMostOne(cnf, places);
+            }
+        }
+        for (int cell = 0; cell < n * n; cell++) {
+            int v = grid[cell];
+            if (v == 0) continue;
+            if (v < 0 || v > n) throw new IllegalArgumentException("Valor inválido na célula " + cell + ": " + v);
+            cnf.add(var(n, cell / n, cell % n, v));
+        }
+        return cnf;
+    }
+
+    // grid a partir do modelo (model[v] = valor da variável DIMACS v)
+    public static byte[] decode(boolean[] model, int boxSize) {
+        int n = boxSize * boxSize;
+        byte[] grid = new byte[n * n];
+        for (int cell = 0; cell < n * n; cell++) {
+            for (int d = 1; d <= n; d++) {
+                if (model[var(n, cell / n, cell % n, d)]) {
+                    grid[cell] = (byte) d;
+                    break;
+                }
+            }
+        }
+        return grid;
+    }
+
+    private static void atMostOne(Cnf cnf, int[] vars) {
+        for (int i = 0; i < vars.length; i++) {
+            for (int j = i + 1; j < vars.length; j++) cnf.add(-vars[i], -vars[j]);
+        }
+    }
+
+    // linhas, colunas e blocos de um tabuleiro N x N
+    static int[][] units(int boxSize) {
+        int n = boxSize * boxSize;
+        int[][] units = new int[3 * n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                units[i][j] = i * n + j;
+                units[n + i][j] = j * n + i;
+                int row = (i / boxSize) * boxSize + j / boxSize;
+                int col = (i % boxSize) * boxSize + j % boxSize;
+                units[2 * n + i][j] = row * n + col;
+            }
+        }
+        return units;
+    }
+}
@@ -1,13 +1,16 @@
 package br.com.dio.sudoku.util;
 
 import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.library.LibrarySelection;
 
 public class ArgsParser {
 
     // formato: "col,row;value,fixed"
     // exemplo: "0,0;4,false"
+    // ou "--library=arquivo.sudlib ..." para carregar o puzzle da biblioteca (ver LibrarySelection)
     public static void applyInitialSpaces(Board board, String[] args) {
         if (args == null) return;
+        if (LibrarySelection.apply(board, args)) return;
 
         for (String token : args) {
             if (token == null) continue;
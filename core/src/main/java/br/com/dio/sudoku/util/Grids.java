@@ -0,0 +1,138 @@
+package br.com.dio.sudoku.util;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.board.Space;
+
+// Representação compacta de um tabuleiro: byte[81] em ordem de linha (row * 9 + col), 0 = vazio.
+// É o formato usado pelos caminhos em lote (validação, solvers, arquivos de puzzles).
+public class Grids {
+
+    public static final int CELLS = Board.SIZE * Board.SIZE;
+
+    // 27 unidades (9 linhas, 9 colunas, 9 blocos 3x3), cada uma com os índices das 9 células
+    public static final int[][] UNITS = buildUnits();
+
+    // para cada célula, as 20 outras que dividem linha, coluna ou bloco com ela
+    public static final int[][] PEERS = buildPeers();
+
+    public static int index(int col, int row) {
+        return row * Board.SIZE + col;
+    }
+
+    public static int box(int index) {
+        int row = index / Board.SIZE;
+        int col = index % Board.SIZE;
+        return (row / 3) * 3 + col / 3;
+    }
+
+    // todos os valores do tabuleiro (fixos e do usuário)
+    public static byte[] fromBoard(Board board) {
+        byte[] grid = new byte[CELLS];
+        copyFromBoard(board, grid, 0);
+        return grid;
+    }
+
+    public static void copyFromBoard(Board board, byte[] dst, int offset) {
+        for (int row = 0; row < Board.SIZE; row++) {
+            for (int col = 0; col < Board.SIZE; col++) {
+                Integer v = board.getSpace(col, row).getValue();
+                dst[offset + index(col, row)] = v == null ? 0 : (byte) (int) v;
+            }
+        }
+    }
+
+    // só os números fixos (o "puzzle" original)
+    public static byte[] givensFromBoard(Board board) {
+        byte[] grid = new byte[CELLS];
+        for (int row = 0; row < Board.SIZE; row++) {
+            for (int col = 0; col < Board.SIZE; col++) {
+                Space s = board.getSpace(col, row);
+                if (s.isFixed() && s.getValue() != null) grid[index(col, row)] = (byte) (int) s.getValue();
+            }
+        }
+        return grid;
+    }
+
+    // cria um Board em que os valores não nulos do grid são números fixos
+    public static Board toBoard(byte[] givens) {
+        Board board = new Board();
+        for (int i = 0; i < CELLS; i++) {
+            if (givens[i] != 0) board.setFixed(i % Board.SIZE, i / Board.SIZE, givens[i]);
+        }
+        return board;
+    }
+
+    public static int countClues(byte[] grid) {
+        int n = 0;
+        for (int i = 0; i < CELLS; i++) {
+            if (grid[i] != 0) n++;
+        }
+        return n;
+    }
+
+    // formato de uma linha: 81 caracteres, dígitos 1-9 e '.' ou '0' para vazio
+    public static byte[] parse(CharSequence line) {
+        byte[] grid = new byte[CELLS];
+        if (!parseInto(line, grid, 0)) {
+            throw new IllegalArgumentException("Tabuleiro inválido (esperado 81 caracteres 1-9, '.' ou '0'): " + line);
+        }
+        return grid;
+    }
+
+    // versão sem exceção/alocação usada nos caminhos em lote; retorna false se a linha for inválida
+    public static boolean parseInto(CharSequence line, byte[] dst, int offset) {
+        if (line == null || line.length() != CELLS) return false;
+        for (int i = 0; i < CELLS; i++) {
+            char c = line.charAt(i);
+            if (c >= '1' && c <= '9') dst[offset + i] = (byte) (c - '0');
+            else if (c == '.' || c == '0') dst[offset + i] = 0;
+            else return false;
+        }
+        return true;
+    }
+
+    // texto colado ou lido de arquivo: ignora espaços, quebras de linha e separadores (| - +),
+    // ficando só com dígitos e '.'; precisa sobrar exatamente 81
+    public static byte[] parseLenient(CharSequence text) {
+        StringBuilder sb = new StringBuilder(CELLS);
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            if ((ch >= '0' && ch <= '9') || ch == '.') sb.append(ch);
+        }
+        if (sb.length() != CELLS) {
+            throw new IllegalArgumentException("Esperado um puzzle de 81 células (dígitos, '.' ou '0'), encontrado " + sb.length());
+        }
+        return parse(sb);
+    }
+
+    public static String format(byte[] grid) {
+        StringBuilder sb = new StringBuilder(CELLS);
+        for (int i = 0; i < CELLS; i++) {
+            sb.append(grid[i] == 0 ? '.' : (char) ('0' + grid[i]));
+        }
+        return sb.toString();
+    }
+
+    private static int[][] buildUnits() {
+        int[][] units = new int[27][9];
+        for (int i = 0; i < 9; i++) {
+            for (int j = 0; j < 9; j++) {
+                units[i][j] = index(j, i);                                   // linha i
+                units[9 + i][j] = index(i, j);                               // coluna i
+                units[18 + i][j] = index((i % 3) * 3 + j % 3, (i / 3) * 3 + j / 3); // bloco i
+            }
+        }
+        return units;
+    }
+
+    private static int[][] buildPeers() {
+        int[][] peers = new int[CELLS][20];
+        for (int i = 0; i < CELLS; i++) {
+            int n = 0;
+            for (int j = 0; j < CELLS; j++) {
+                if (j != i && (j / 9 == i / 9 || j % 9 == i % 9 || box(j) == box(i))) peers[i][n++] = j;
+            }
+        }
+        return peers;
+    }
+}
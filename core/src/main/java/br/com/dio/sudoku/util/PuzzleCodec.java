@@ -0,0 +1,267 @@
+package br.com.dio.sudoku.util;
+
+import br.com.dio.sudoku.board.Board;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+// Formato binário compacto para guardar e transmitir puzzles e soluções.
+//
+// Puzzle: mapa de 81 bits das células com dica (11 bytes) + os dígitos das dicas, 4 bits cada
+// (digito - 1), na ordem das células. Um puzzle de 25 dicas ocupa 24 bytes (texto: 81).
+//
+// Solução: as células são percorridas em ordem; cada uma tem como opções os dígitos que ainda não
+// apareceram na linha, coluna e bloco (contando as dicas do puzzle, se informado). Células com uma
+// opção só (forçadas) e as dicas não gastam nada; as outras viram um dígito em base mista (índice
+// entre as opções, base = número de opções), acumulado num BigInteger. Grava 1 byte de tamanho e
+// os bytes do número: uns 12 bytes (no máximo 13) sem o puzzle e uns 4 com ele (texto: 81).
+//
+// uso: PuzzleCodec entrada.txt saida.bin            (linhas "puzzle [solução]", 81 caracteres cada)
+//      PuzzleCodec --decode entrada.bin saida.txt
+public class PuzzleCodec {
+
+    private static final int BITMAP_BYTES = (Grids.CELLS + 7) / 8;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("--decode")) {
+            decodeFile(Path.of(args[1]), Path.of(args[2]));
+        } else if (args.length == 2) {
+            encodeFile(Path.of(args[0]), Path.of(args[1]));
+        } else {
+            System.out.println("uso: PuzzleCodec entrada.txt saida.bin | PuzzleCodec --decode entrada.bin saida.txt");
+        }
+    }
+
+    // =========================
+    // Puzzle
+    // =========================
+
+    public static int puzzleBytes(int clues) {
+        return BITMAP_BYTES + (clues + 1) / 2;
+    }
+
+    public static void encodePuzzle(byte[] givens, ByteBuffer out) {
+        checkGrid(givens);
+        byte[] bitmap = new byte[BITMAP_BYTES];
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (givens[i] != 0) bitmap[i >> 3] |= (byte) (1 << (i & 7));
+        }
+        out.put(bitmap);
+
+        int pending = -1;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (givens[i] == 0) continue;
+            int nibble = givens[i] - 1;
+            if (pending < 0) {
+                pending = nibble;
+            } else {
+                out.put((byte) (pending | nibble << 4));
+                pending = -1;
+            }
+        }
+        if (pending >= 0) out.put((byte) pending);
+    }
+
+    public static byte[] encodePuzzle(byte[] givens) {
+        ByteBuffer out = ByteBuffer.allocate(puzzleBytes(Grids.countClues(givens)));
+        encodePuzzle(givens, out);
+        return out.array();
+    }
+
+    // só as células fixas contam como dicas
+    public static void encodePuzzle(Board board, ByteBuffer out) {
+        encodePuzzle(Grids.givensFromBoard(board), out);
+    }
+
+    public static byte[] decodePuzzleGrid(ByteBuffer in) {
+        byte[] bitmap = new byte[BITMAP_BYTES];
+        in.get(bitmap);
+        byte[] givens = new byte[Grids.CELLS];
+        int current = 0;
+        boolean high = false;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if ((bitmap[i >> 3] & (1 << (i & 7))) == 0) continue;
+            if (!high) current = in.get() & 0xFF;
+            givens[i] = (byte) (((high ? current >> 4 : current) & 0xF) + 1);
+            if (givens[i] > 9) throw new IllegalArgumentException("Dígito inválido no puzzle codificado: " + givens[i]);
+            high = !high;
+        }
+        return givens;
+    }
+
+    public static Board decodePuzzle(ByteBuffer in) {
+        return Grids.toBoard(decodePuzzleGrid(in));
+    }
+
+    // =========================
+    // Solução
+    // =========================
+
+    // 'givens' pode ser null; se vier, precisa ser o mesmo na decodificação
+    public static void encodeSolution(byte[] solution, byte[] givens, ByteBuffer out) {
+        checkGrid(solution);
+        int[] masks = initialMasks(givens);
+        BigInteger value = BigInteger.ZERO;
+        BigInteger weight = BigInteger.ONE;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            int v = solution[i];
+            if (v == 0) throw new IllegalArgumentException("Solução incompleta na célula " + i);
+            if (givens != null && givens[i] != 0) {
+                if (givens[i] != v) throw new IllegalArgumentException("A solução muda a dica da célula " + i);
+                continue;
+            }
+            int options = options(masks, i);
+            int bit = 1 << (v - 1);
+            if ((options & bit) == 0) throw new IllegalArgumentException("Solução inválida na célula " + i);
+            int radix = Integer.bitCount(options);
+            if (radix > 1) {
+                int index = Integer.bitCount(options & (bit - 1));
+                value = value.add(weight.multiply(BigInteger.valueOf(index)));
+                weight = weight.multiply(BigInteger.valueOf(radix));
+            }
+            mark(masks, i, v);
+        }
+        byte[] magnitude = value.toByteArray();
+        out.put((byte) magnitude.length);
+        out.put(magnitude);
+    }
+
+    public static byte[] encodeSolution(byte[] solution, byte[] givens) {
+        ByteBuffer out = ByteBuffer.allocate(64);
+        encodeSolution(solution, givens, out);
+        byte[] bytes = new byte[out.position()];
+        out.flip().get(bytes);
+        return bytes;
+    }
+
+    // dicas = células fixas do board, solução = todos os valores (o board precisa estar completo)
+    public static void encodeSolution(Board board, ByteBuffer out) {
+        encodeSolution(Grids.fromBoard(board), Grids.givensFromBoard(board), out);
+    }
+
+    // solução gravada sem puzzle (givens == null)
+    public static byte[] decodeSolution(ByteBuffer in) {
+        return decodeSolution(in, (byte[]) null);
+    }
+
+    public static byte[] decodeSolution(ByteBuffer in, byte[] givens) {
+        int length = in.get() & 0xFF;
+        byte[] magnitude = new byte[length];
+        in.get(magnitude);
+        BigInteger value = length == 0 ? BigInteger.ZERO : new BigInteger(magnitude);
+
+        int[] masks = initialMasks(givens);
+        byte[] solution = new byte[Grids.CELLS];
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (givens != null && givens[i] != 0) {
+                solution[i] = givens[i];
+                continue;
+            }
+            int options = options(masks, i);
+            int radix = Integer.bitCount(options);
+            if (radix == 0) throw new IllegalArgumentException("Solução codificada inválida (célula " + i + " sem opção)");
+            int index = 0;
+            if (radix > 1) {
+                BigInteger[] qr = value.divideAndRemainder(BigInteger.valueOf(radix));
+                value = qr[0];
+                index = qr[1].intValue();
+            }
+            int chosen = options;
+            for (int k = 0; k < index; k++) chosen &= chosen - 1;
+            int v = Integer.numberOfTrailingZeros(chosen) + 1;
+            solution[i] = (byte) v;
+            mark(masks, i, v);
+        }
+        if (value.signum() != 0) throw new IllegalArgumentException("Solução codificada com dados sobrando");
+        return solution;
+    }
+
+    // preenche as células não fixas do board com a solução (as dicas já estão nele)
+    public static void decodeSolution(ByteBuffer in, Board board) {
+        byte[] solution = decodeSolution(in, Grids.givensFromBoard(board));
+        for (int i = 0; i < Grids.CELLS; i++) {
+            int col = i % Board.SIZE;
+            int row = i / Board.SIZE;
+            if (!board.getSpace(col, row).isFixed()) board.setUserValue(col, row, (int) solution[i]);
+        }
+    }
+
+    // masks[0..8] linhas, [9..17] colunas, [18..26] blocos: dígitos já usados
+    private static int[] initialMasks(byte[] givens) {
+        int[] masks = new int[27];
+        if (givens == null) return masks;
+        checkGrid(givens);
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (givens[i] != 0) mark(masks, i, givens[i]);
+        }
+        return masks;
+    }
+
+    private static int options(int[] masks, int cell) {
+        return 0x1FF & ~(masks[cell / 9] | masks[9 + cell % 9] | masks[18 + Grids.box(cell)]);
+    }
+
+    private static void mark(int[] masks, int cell, int v) {
+        int bit = 1 << (v - 1);
+        masks[cell / 9] |= bit;
+        masks[9 + cell % 9] |= bit;
+        masks[18 + Grids.box(cell)] |= bit;
+    }
+
+    private static void checkGrid(byte[] grid) {
+        if (grid.length != Grids.CELLS) throw new IllegalArgumentException("Esperado 81 células, recebido " + grid.length);
+        for (byte v : grid) {
+            if (v < 0 || v > 9) throw new IllegalArgumentException("Valor inválido: " + v);
+        }
+    }
+
+    // =========================
+    // Arquivos
+    // =========================
+
+    // registro: puzzle, 1 byte (1 = tem solução) e a solução codificada relativa ao puzzle
+    private static void encodeFile(Path input, Path output) throws IOException {
+        List<String> lines = Files.readAllLines(input, StandardCharsets.UTF_8);
+        ByteBuffer out = ByteBuffer.allocate(Math.max(1, lines.size()) * (puzzleBytes(Grids.CELLS) + 1 + 64));
+        long textBytes = 0;
+        int records = 0;
+        for (String line : lines) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts[0].isEmpty()) continue;
+            byte[] puzzle = Grids.parse(parts[0]);
+            encodePuzzle(puzzle, out);
+            if (parts.length > 1) {
+                out.put((byte) 1);
+                encodeSolution(Grids.parse(parts[1]), puzzle, out);
+            } else {
+                out.put((byte) 0);
+            }
+            textBytes += line.length() + 1;
+            records++;
+        }
+        Files.write(output, Arrays.copyOf(out.array(), out.position()));
+        System.out.printf("%d registros: %d bytes em texto -> %d bytes (%.1f bytes/registro)%n",
+                records, textBytes, out.position(), records == 0 ? 0.0 : out.position() / (double) records);
+    }
+
+    private static void decodeFile(Path input, Path output) throws IOException {
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(input));
+        try (PrintWriter w = new PrintWriter(new BufferedWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8)))) {
+            while (in.hasRemaining()) {
+                byte[] puzzle = decodePuzzleGrid(in);
+                boolean hasSolution = in.get() == 1;
+                w.println(hasSolution
+                        ? Grids.format(puzzle) + " " + Grids.format(decodeSolution(in, puzzle))
+                        : Grids.format(puzzle));
+            }
+        }
+    }
+}
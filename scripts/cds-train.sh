@@ -0,0 +1,15 @@
+#!/usr/bin/env bash
+# Gera os arquivos AppCDS (dinâmicos) do terminal e da interface gráfica com uma partida de treino.
+set -euo pipefail
+source "$(dirname "$0")/env.sh"
+mkdir -p "$CDS_DIR"
+
+"$JAVA" -XX:ArchiveClassesAtExit="$CLI_ARCHIVE" -cp "$CORE_JAR:$CLI_JAR" br.com.dio.sudoku.Main --train
+echo "Arquivo do terminal: $CLI_ARCHIVE"
+
+# sem display o treino da interface sai com erro e o arquivo parcial é descartado
+if "$JAVA" -XX:ArchiveClassesAtExit="$GUI_ARCHIVE" -cp "$CORE_JAR:$SWING_JAR" br.com.dio.sudoku.ui.UiMain --train; then
+    echo "Arquivo da interface gráfica: $GUI_ARCHIVE"
+else
+    rm -f "$GUI_ARCHIVE"
+fi
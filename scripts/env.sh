@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Caminhos comuns aos scripts de execução (rode "mvn -q package" antes).
+ROOT="$(cd "$(dirname "${BASH_SOURCE[0]}")/.." && pwd)"
+VERSION="1.0-SNAPSHOT"
+CORE_JAR="$ROOT/core/target/sudoku-core-$VERSION.jar"
+CLI_JAR="$ROOT/cli/target/sudoku-cli-$VERSION.jar"
+SWING_JAR="$ROOT/swing/target/sudoku-swing-$VERSION.jar"
+CDS_DIR="$ROOT/target/cds"
+CLI_ARCHIVE="$CDS_DIR/sudoku-cli.jsa"
+GUI_ARCHIVE="$CDS_DIR/sudoku-gui.jsa"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+# usa o arquivo AppCDS se ele existir; o classpath precisa ser idêntico ao do treino
+cds_flag() {
+    if [ -f "$1" ]; then echo "-XX:SharedArchiveFile=$1"; else echo "-Xshare:auto"; fi
+}
@@ -0,0 +1,8 @@
+#!/usr/bin/env bash
+# Compara o tempo até o primeiro tabuleiro com e sem AppCDS (passe --gui para a interface gráfica).
+source "$(dirname "$0")/env.sh"
+if [ "${1:-}" = "--gui" ]; then
+    exec "$JAVA" -cp "$CORE_JAR:$SWING_JAR:$CLI_JAR" br.com.dio.sudoku.bench.StartupBenchmark \
+        --archive="$GUI_ARCHIVE" "$@"
+fi
+exec "$JAVA" -cp "$CORE_JAR:$CLI_JAR" br.com.dio.sudoku.bench.StartupBenchmark --archive="$CLI_ARCHIVE" "$@"
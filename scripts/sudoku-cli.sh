@@ -0,0 +1,4 @@
+#!/usr/bin/env bash
+# Jogo no terminal, usando o arquivo AppCDS quando disponível.
+source "$(dirname "$0")/env.sh"
+exec "$JAVA" "$(cds_flag "$CLI_ARCHIVE")" -cp "$CORE_JAR:$CLI_JAR" br.com.dio.sudoku.Main "$@"
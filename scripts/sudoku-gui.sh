@@ -0,0 +1,4 @@
+#!/usr/bin/env bash
+# Interface gráfica, usando o arquivo AppCDS quando disponível.
+source "$(dirname "$0")/env.sh"
+exec "$JAVA" "$(cds_flag "$GUI_ARCHIVE")" -cp "$CORE_JAR:$SWING_JAR" br.com.dio.sudoku.ui.UiMain "$@"
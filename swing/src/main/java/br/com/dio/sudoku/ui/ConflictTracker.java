@@ -0,0 +1,75 @@
+package br.com.dio.sudoku.ui;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.Grids;
+
+import java.util.Arrays;
+
+// Estado de conflito de cada célula, recalculado só onde uma mudança pode ter efeito:
+// a própria célula e seus 20 vizinhos. Devolve quais células mudaram de estado, para a
+// tela repintar só essas em vez de passar pelos 81 campos.
+final class ConflictTracker {
+
+    private final Board board;
+    private final boolean[] conflict = new boolean[Grids.CELLS];
+    private int conflicts;
+
+    ConflictTracker(Board board) {
+        this.board = board;
+    }
+
+    boolean isConflict(int cell) {
+        return conflict[cell];
+    }
+
+    boolean hasConflicts() {
+        return conflicts > 0;
+    }
+
+    // células cujo estado mudou depois das alterações em 'changed'
+    int[] update(int[] changed) {
+        boolean[] affected = new boolean[Grids.CELLS];
+        for (int cell : changed) {
+            affected[cell] = true;
+            for (int p : Grids.PEERS[cell]) affected[p] = true;
+        }
+        return recompute(affected);
+    }
+
+    int[] updateAll() {
+        boolean[] affected = new boolean[Grids.CELLS];
+        Arrays.fill(affected, true);
+        return recompute(affected);
+    }
+
+    // estado já calculado fora daqui (servidor cooperativo); true se mudou
+    boolean set(int cell, boolean now) {
+        if (now == conflict[cell]) return false;
+        conflict[cell] = now;
+        conflicts += now ? 1 : -1;
+        return true;
+    }
+
+    private int[] recompute(boolean[] affected) {
+        int[] flipped = new int[Grids.CELLS];
+        int n = 0;
+        for (int cell = 0; cell < Grids.CELLS; cell++) {
+            if (!affected[cell]) continue;
+            if (set(cell, computeConflict(cell))) flipped[n++] = cell;
+        }
+        return Arrays.copyOf(flipped, n);
+    }
+
+    private boolean computeConflict(int cell) {
+        Integer v = value(cell);
+        if (v == null) return false;
+        for (int p : Grids.PEERS[cell]) {
+            if (v.equals(value(p))) return true;
+        }
+        return false;
+    }
+
+    private Integer value(int cell) {
+        return board.getSpace(cell % Board.SIZE, cell / Board.SIZE).getValue();
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.dio.sudoku.ui;
+
+import br.com.dio.sudoku.net.CoopClient;
+
+import javax.swing.SwingUtilities;
+import java.io.IOException;
+
+// Liga uma tela ao servidor cooperativo: o estado inicial da sala troca o tabuleiro inteiro e,
+// depois dele, cada delta remoto chega na EDT e atualiza só a sua célula.
+class CoopLink {
+
+    // chamados na EDT
+    interface Room {
+        // célula como está no servidor, com o estado de conflito calculado lá
+        void update(int col, int row, Integer value, boolean fixed, boolean conflict);
+
+        // o servidor recusou nossa jogada numa célula fixa; value é o valor dela lá
+        void rejected(int col, int row, Integer value);
+
+        // fim do estado inicial: os updates recebidos até aqui são o tabuleiro da sala
+        void synced();
+    }
+
+    // "--coop=host:porta" nos argumentos; null se não houver
+    static String addressFromArgs(String[] args) {
+        if (args == null) return null;
+        for (String arg : args) {
+            if (arg != null && arg.startsWith("--coop=")) return arg.substring(7);
+        }
+        return null;
+    }
+
+    static CoopClient connect(String address, Room target, Runnable onDisconnected) throws IOException {
+        return CoopClient.connect(address, new CoopClient.Listener() {
+            @Override
+            public void onUpdate(int col, int row, Integer value, boolean fixed, boolean conflict) {
+                SwingUtilities.invokeLater(() -> target.update(col, row, value, fixed, conflict));
+            }
+
+            @Override
+            public void onRejected(int col, int row, Integer value) {
+                SwingUtilities.invokeLater(() -> target.rejected(col, row, value));
+            }
+
+            @Override
+            public void onSynced() {
+                SwingUtilities.invokeLater(target::synced);
+            }
+
+            @Override
+            public void onDisconnected() {
+                SwingUtilities.invokeLater(onDisconnected);
+            }
+        });
+    }
+}
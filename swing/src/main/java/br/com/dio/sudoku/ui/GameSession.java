@@ -0,0 +1,379 @@
+package br.com.dio.sudoku.ui;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.board.Space;
+import br.com.dio.sudoku.game.FeasibilityChecker;
+import br.com.dio.sudoku.game.HintEngine;
+import br.com.dio.sudoku.game.MoveRecorder;
+import br.com.dio.sudoku.game.PlayTimer;
+import br.com.dio.sudoku.game.UndoLog;
+import br.com.dio.sudoku.net.CoopClient;
+import br.com.dio.sudoku.score.Leaderboard;
+import br.com.dio.sudoku.util.Grids;
+
+import javax.swing.*;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+// O que as duas telas (MainScreen e SudokuFrame) fazem igual: jogadas com undo/redo, gravação,
+// tempo e ranking, dicas, conflitos e "sem solução", modo cooperativo e troca de puzzle.
+// A tela só cuida dos seus campos: ler uma edição, mostrar o valor de uma célula e pintá-la.
+// Usado só na EDT.
+final class GameSession {
+
+    interface View {
+        // lê o campo da célula e joga com play(); true se o board mudou
+        boolean applyEdit(int col, int row);
+
+        // valor (e se é editável) do campo a partir do board
+        void refreshCell(int col, int row);
+
+        // cor da célula a partir de isConflict / isDeadEnd
+        void paintCell(int cell);
+
+        void focusCell(int col, int row);
+    }
+
+    private final JFrame frame;
+    private final Board board;
+    private final View view;
+
+    private final UndoLog history = UndoLog.fromSystemProperties();
+    private final FeasibilityChecker feasibility = new FeasibilityChecker();
+    private final HintEngine hints = new HintEngine();
+    private final MoveRecorder recorder = MoveRecorder.fromSystemProperties(); // -Dsudoku.record=pasta
+    private final PlayTimer timer = new PlayTimer();
+    private final ConflictTracker tracker;
+    private final Board.LoadListener loadListener = this::onBoardLoaded;
+
+    // edições do mesmo ciclo da EDT entram no board juntas, com uma repintura só das células afetadas
+    private final InputCoalescer input = new InputCoalescer(this::applyEdits);
+
+    private CoopClient coop; // modo cooperativo (null = jogo local)
+    private byte[] roomGivens; // estado da sala chegando do servidor até o SYNC (null depois)
+    private byte[] roomValues;
+    private String baseTitle = "Sudoku"; // título sem o aviso de "sem solução"
+    private boolean deadEnd;
+
+    GameSession(JFrame frame, Board board, View view) {
+        this.frame = frame;
+        this.board = board;
+        this.view = view;
+        this.tracker = new ConflictTracker(board);
+    }
+
+    // depois que a tela montou os campos
+    void start() {
+        refreshAll();
+        board.addLoadListener(loadListener);
+        PuzzleImport.bindShortcuts(frame.getRootPane(), this::pastePuzzle, this::openPuzzle);
+        recorder.start(board);
+    }
+
+    void dispose() {
+        board.removeLoadListener(loadListener);
+        recorder.close();
+    }
+
+    // =========================
+    // Jogadas
+    // =========================
+
+    void markDirty(int col, int row) {
+        input.markDirty(col, row);
+    }
+
+    // aplica as edições pendentes antes de um botão ler o tabuleiro
+    void flush() {
+        input.flush();
+    }
+
+    private void applyEdits(int[] cells) {
+        int[] changed = new int[cells.length];
+        int n = 0;
+        for (int cell : cells) {
+            if (view.applyEdit(cell % Board.SIZE, cell / Board.SIZE)) changed[n++] = cell;
+        }
+        if (n > 0) cellsChanged(Arrays.copyOf(changed, n));
+    }
+
+    // jogada do usuário numa célula não fixa com valor diferente do atual
+    void play(int col, int row, Integer value) {
+        Space space = board.getSpace(col, row);
+        history.record(col, row, space, value);
+        board.setUserValue(col, row, value);
+        recorder.set(board, col, row);
+        timer.countMove();
+        sendToCoop(col, row);
+    }
+
+    void reset() {
+        input.flush();
+        board.clearUserInputs();
+        history.clear();
+        recorder.clear();
+        sendAllToCoop();
+        refreshAll();
+    }
+
+    void undo() {
+        input.flush();
+        long last = history.undo(board);
+        if (last == UndoLog.NONE) {
+            showInfo("Não há jogadas para desfazer.");
+            return;
+        }
+        recorder.undo(board, last);
+        replayed(last);
+    }
+
+    void redo() {
+        input.flush();
+        long last = history.redo(board);
+        if (last == UndoLog.NONE) {
+            showInfo("Não há jogadas para refazer.");
+            return;
+        }
+        recorder.redo(board, last);
+        replayed(last);
+    }
+
+    private void replayed(long entry) {
+        int col = UndoLog.col(entry);
+        int row = UndoLog.row(entry);
+        timer.countMove();
+        sendToCoop(col, row);
+        view.refreshCell(col, row);
+        cellsChanged(Grids.index(col, row));
+    }
+
+    // a dica só aponta a célula; quem joga continua sendo o usuário
+    void showHint() {
+        input.flush();
+        HintEngine.Hint hint = hints.next(board);
+        if (hint == null) {
+            showInfo(board.isFullyFilled()
+                    ? "O tabuleiro já está completo."
+                    : "Ainda calculando a solução... peça a dica de novo em instantes.");
+            return;
+        }
+        if (hint.col() >= 0) view.focusCell(hint.col(), hint.row());
+        showInfo("Dica (" + hint.technique().label() + "): " + hint.explanation());
+    }
+
+    // "Tempo: 4m07s | Jogadas: 31" da partida em andamento
+    String progress() {
+        return "Tempo: " + PlayTimer.format(timer.elapsedMillis()) + " | Jogadas: " + timer.moves();
+    }
+
+    // tabuleiro completo e válido: fecha a gravação, para o relógio e registra o resultado no
+    // ranking do puzzle (-Dsudoku.player / -Dsudoku.leaderboard); devolve o texto para a tela
+    String finish() {
+        recorder.finish();
+        long millis = timer.stop();
+        Leaderboard.Placement placement = Leaderboard.shared()
+                .submit(Leaderboard.puzzleKey(board), Leaderboard.defaultPlayer(), millis, timer.moves());
+        return "Tempo: " + PlayTimer.format(millis) + " | Jogadas: " + timer.moves() + "\n"
+                + "Ranking deste puzzle: " + placement.rank() + "º de " + placement.total();
+    }
+
+    // =========================
+    // Conflitos
+    // =========================
+
+    boolean isConflict(int cell) {
+        return tracker.isConflict(cell);
+    }
+
+    // sem conflito direto, mas sem solução
+    boolean isDeadEnd() {
+        return deadEnd;
+    }
+
+    // todos os campos e uma passada completa de conflitos (início, reiniciar, outro puzzle)
+    void refreshAll() {
+        for (int row = 0; row < Board.SIZE; row++) {
+            for (int col = 0; col < Board.SIZE; col++) view.refreshCell(col, row);
+        }
+        refreshConflicts();
+    }
+
+    void refreshConflicts() {
+        tracker.updateAll();
+        deadEnd = computeDeadEnd();
+        paintAll();
+    }
+
+    // só as células alteradas e as que mudaram de estado de conflito por causa delas
+    private void cellsChanged(int... changed) {
+        int[] flipped = tracker.update(changed);
+        boolean wasDeadEnd = deadEnd;
+        deadEnd = computeDeadEnd();
+        if (deadEnd != wasDeadEnd) {
+            paintAll();
+            return;
+        }
+        for (int cell : changed) view.paintCell(cell);
+        for (int cell : flipped) view.paintCell(cell);
+    }
+
+    private boolean computeDeadEnd() {
+        return !tracker.hasConflicts() && feasibility.check(board) == FeasibilityChecker.Result.INFEASIBLE;
+    }
+
+    private void paintAll() {
+        for (int cell = 0; cell < Grids.CELLS; cell++) view.paintCell(cell);
+        frame.setTitle(deadEnd ? baseTitle + " - sem solução!" : baseTitle);
+    }
+
+    private void setBaseTitle(String title) {
+        baseTitle = title;
+        frame.setTitle(deadEnd ? title + " - sem solução!" : title);
+    }
+
+    // =========================
+    // Modo cooperativo
+    // =========================
+
+    void joinCoop(String address) throws IOException {
+        roomGivens = new byte[Grids.CELLS];
+        roomValues = new byte[Grids.CELLS];
+        coop = CoopLink.connect(address, new CoopLink.Room() {
+            @Override
+            public void update(int col, int row, Integer value, boolean fixed, boolean conflict) {
+                applyRemote(col, row, value, fixed, conflict);
+            }
+
+            @Override
+            public void rejected(int col, int row, Integer value) {
+                applyRejected(col, row, value);
+            }
+
+            @Override
+            public void synced() {
+                applyRoom();
+            }
+        }, () -> setBaseTitle("Sudoku (desconectado)"));
+        setBaseTitle("Sudoku (cooperativo: " + address + ")");
+    }
+
+    // delta vindo do servidor: antes do SYNC só guarda o estado da sala (os conflitos dela saem
+    // iguais na passada completa do applyRoom); depois atualiza só essa célula, sem refazer a tela
+    // toda nem mexer no undo. O conflito vem pronto do servidor, que também manda um delta para
+    // cada vizinho que mudou de estado, então não há recálculo local dos 20 vizinhos.
+    private void applyRemote(int col, int row, Integer value, boolean fixed, boolean conflict) {
+        int cell = Grids.index(col, row);
+        if (roomGivens != null) {
+            int v = value == null ? 0 : value;
+            roomGivens[cell] = (byte) (fixed ? v : 0);
+            roomValues[cell] = (byte) (fixed ? 0 : v);
+            return;
+        }
+        boolean changed = setRemote(col, row, value, fixed);
+        if (changed) view.refreshCell(col, row);
+        boolean flipped = tracker.set(cell, conflict);
+        if (!changed && !flipped) return; // eco da nossa própria jogada
+
+        boolean wasDeadEnd = deadEnd;
+        deadEnd = computeDeadEnd();
+        if (deadEnd != wasDeadEnd) paintAll();
+        else view.paintCell(cell);
+    }
+
+    // REJECT não traz conflito: volta o valor do servidor e recalcula a célula e os vizinhos aqui
+    private void applyRejected(int col, int row, Integer value) {
+        if (roomGivens != null || !setRemote(col, row, value, true)) return;
+        view.refreshCell(col, row);
+        cellsChanged(Grids.index(col, row));
+    }
+
+    // true se o board mudou
+    private boolean setRemote(int col, int row, Integer value, boolean fixed) {
+        Space space = board.getSpace(col, row);
+        if (fixed) {
+            if (value == null || space.isFixed() && value.equals(space.getValue())) return false;
+            board.setFixed(col, row, value);
+            return true;
+        }
+        if (space.isFixed() || Objects.equals(value, space.getValue())) return false;
+        board.setUserValue(col, row, value);
+        return true;
+    }
+
+    // SYNC: o estado da sala substitui o tabuleiro inteiro, dicas fixas inclusive (o puzzle local
+    // dos args ou da biblioteca não vale no modo cooperativo). O load zera undo, dicas, checagem
+    // de solução, gravação e relógio; os valores dos jogadores entram depois, com uma repintura só.
+    private void applyRoom() {
+        if (roomGivens == null) return;
+        input.flush(); // edições pendentes são do tabuleiro antigo
+        board.load(roomGivens);
+        for (int cell = 0; cell < Grids.CELLS; cell++) {
+            if (roomValues[cell] != 0) board.setUserValue(cell % Board.SIZE, cell / Board.SIZE, (int) roomValues[cell]);
+        }
+        roomGivens = null;
+        roomValues = null;
+        refreshAll();
+    }
+
+    private void sendToCoop(int col, int row) {
+        if (coop != null) coop.send(col, row, board.getSpace(col, row).getValue());
+    }
+
+    private void sendAllToCoop() {
+        if (coop == null) return;
+        for (int row = 0; row < Board.SIZE; row++) {
+            for (int col = 0; col < Board.SIZE; col++) {
+                if (!board.getSpace(col, row).isFixed()) sendToCoop(col, row);
+            }
+        }
+    }
+
+    // =========================
+    // Trocar de puzzle (colar / abrir arquivo)
+    // =========================
+
+    void pastePuzzle() {
+        try {
+            loadPuzzle(PuzzleImport.fromClipboard());
+        } catch (IOException | IllegalArgumentException e) {
+            showError("Não foi possível colar o puzzle: " + e.getMessage());
+        }
+    }
+
+    void openPuzzle() {
+        try {
+            loadPuzzle(PuzzleImport.chooseFile(frame));
+        } catch (IOException | IllegalArgumentException e) {
+            showError("Não foi possível abrir o puzzle: " + e.getMessage());
+        }
+    }
+
+    private void loadPuzzle(byte[] givens) {
+        if (givens == null) return;
+        if (coop != null) {
+            showError("No modo cooperativo o puzzle é o do servidor.");
+            return;
+        }
+        input.flush();
+        board.load(givens); // um único aviso: onBoardLoaded
+    }
+
+    // uma reconstrução e uma repintura para o tabuleiro inteiro
+    private void onBoardLoaded(Board loaded) {
+        history.clear();
+        feasibility.reset();
+        hints.reset();
+        recorder.start(loaded);
+        timer.restart();
+        if (roomGivens == null) refreshAll(); // estado da sala: applyRoom repinta depois dos valores
+    }
+
+    void showInfo(String msg) {
+        JOptionPane.showMessageDialog(frame, msg, "Sudoku", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    void showError(String msg) {
+        JOptionPane.showMessageDialog(frame, msg, "Sudoku", JOptionPane.ERROR_MESSAGE);
+    }
+}
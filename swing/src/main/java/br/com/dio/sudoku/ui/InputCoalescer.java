@@ -0,0 +1,50 @@
+package br.com.dio.sudoku.ui;
+
+import br.com.dio.sudoku.util.Grids;
+
+import javax.swing.*;
+import java.util.function.Consumer;
+
+// Junta as edições de células que chegam no mesmo ciclo da EDT e entrega todas de uma vez.
+// Um setText gera remove + insert, Enter + perda de foco geram dois eventos, colar um puzzle
+// gera dezenas: tudo vira uma única chamada com cada célula uma vez só.
+// Usado só na EDT, então não precisa de sincronização.
+final class InputCoalescer {
+
+    private final Consumer<int[]> flushAction;
+    private final boolean[] dirty = new boolean[Grids.CELLS];
+    private int count;
+    private boolean scheduled;
+
+    InputCoalescer(Consumer<int[]> flushAction) {
+        this.flushAction = flushAction;
+    }
+
+    void markDirty(int col, int row) {
+        int cell = Grids.index(col, row);
+        if (!dirty[cell]) {
+            dirty[cell] = true;
+            count++;
+        }
+        if (!scheduled) {
+            scheduled = true;
+            SwingUtilities.invokeLater(this::flush);
+        }
+    }
+
+    // aplica agora o que estiver pendente (ex.: antes de um botão ler o tabuleiro)
+    void flush() {
+        scheduled = false;
+        if (count == 0) return;
+        int[] cells = new int[count];
+        int n = 0;
+        for (int i = 0; i < Grids.CELLS; i++) {
+            if (dirty[i]) {
+                dirty[i] = false;
+                cells[n++] = i;
+            }
+        }
+        count = 0;
+        flushAction.accept(cells);
+    }
+}
@@ -0,0 +1,234 @@
+package br.com.dio.sudoku.ui;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.board.Space;
+import br.com.dio.sudoku.game.SudokuValidator;
+import br.com.dio.sudoku.util.Grids;
+
+
+
+import javax.swing.*;
+import javax.swing.border.MatteBorder;
+import java.awt.*;
+import java.io.IOException;
+
+public class MainScreen extends JFrame {
+
+    private final Board board;
+    private final NumberTextField[][] fields = new NumberTextField[9][9];
+
+    // jogadas, undo, conflitos, coop, troca de puzzle e ranking (igual ao SudokuFrame)
+    private final GameSession session;
+
+    public MainScreen(Board board) {
+        this.board = board;
+        this.session = new GameSession(this, board, new GameSession.View() {
+            @Override
+            public boolean applyEdit(int col, int row) {
+                return applyUserInput(col, row);
+            }
+
+            @Override
+            public void refreshCell(int col, int row) {
+                MainScreen.this.refreshCell(col, row);
+            }
+
+            @Override
+            public void paintCell(int cell) {
+                MainScreen.this.paintCell(cell);
+            }
+
+            @Override
+            public void focusCell(int col, int row) {
+                fields[row][col].requestFocusInWindow();
+            }
+        });
+
+        setTitle("Sudoku");
+        setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        setResizable(false);
+
+        setLayout(new BorderLayout(10, 10));
+        add(buildGrid(), BorderLayout.CENTER);
+        add(buildButtons(), BorderLayout.SOUTH);
+
+        session.start();
+        TraceReplayViewer.bindShortcut(getRootPane(), () -> Grids.givensFromBoard(board));
+
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    private JPanel buildGrid() {
+        JPanel grid = new JPanel(new GridLayout(9, 9));
+        grid.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        Font font = new Font("SansSerif", Font.BOLD, 18);
+
+        for (int row = 0; row < 9; row++) {
+            for (int col = 0; col < 9; col++) {
+
+                NumberTextField tf = new NumberTextField();
+                tf.setFont(font);
+                tf.setPreferredSize(new Dimension(45, 45));
+
+                // bordas mais grossas a cada 3x3
+                int top = (row % 3 == 0) ? 3 : 1;
+                int left = (col % 3 == 0) ? 3 : 1;
+                int bottom = (row == 8) ? 3 : 1;
+                int right = (col == 8) ? 3 : 1;
+
+                // também fecha bloco 3x3
+                if ((row + 1) % 3 == 0) bottom = 3;
+                if ((col + 1) % 3 == 0) right = 3;
+
+                tf.setBorder(new MatteBorder(top, left, bottom, right, Color.GRAY));
+
+                final int r = row;
+                final int c = col;
+
+                // Quando o usuário digitar, tenta aplicar no board
+                // (Enter e perda de foco na mesma célula viram uma aplicação só)
+                tf.addActionListener(e -> session.markDirty(c, r));
+                tf.addFocusListener(new java.awt.event.FocusAdapter() {
+                    @Override
+                    public void focusLost(java.awt.event.FocusEvent e) {
+                        session.markDirty(c, r);
+                    }
+                });
+
+                fields[row][col] = tf;
+                grid.add(tf);
+            }
+        }
+
+        return grid;
+    }
+
+    private JPanel buildButtons() {
+        JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+
+        JButton resetBtn = new JButton("Reiniciar jogo");
+        JButton checkBtn = new JButton("Verificar jogo");
+        JButton finishBtn = new JButton("Concluir");
+        JButton undoBtn = new JButton("Desfazer");
+        JButton redoBtn = new JButton("Refazer");
+        JButton exitBtn = new JButton("Sair");
+        JButton hintBtn = new JButton("Dica");
+        JButton pasteBtn = new JButton("Colar puzzle");
+        JButton openBtn = new JButton("Abrir...");
+
+        pasteBtn.setToolTipText("Cola um puzzle de 81 células da área de transferência (Ctrl+Shift+V)");
+        openBtn.setToolTipText("Carrega um puzzle de um arquivo de texto (Ctrl+O)");
+        hintBtn.addActionListener(e -> session.showHint());
+        pasteBtn.addActionListener(e -> session.pastePuzzle());
+        openBtn.addActionListener(e -> session.openPuzzle());
+
+        resetBtn.addActionListener(e -> {
+            session.reset();
+            session.showInfo("Jogo reiniciado! Mantive apenas os números fixos.");
+        });
+
+        checkBtn.addActionListener(e -> {
+            session.flush();
+            boolean conflicts = SudokuValidator.hasConflicts(board);
+            String time = "\n" + session.progress();
+            if (conflicts) session.showError("Há conflitos no tabuleiro (erros)." + time);
+            else session.showInfo("Sem conflitos até agora ✅" + time);
+        });
+
+        finishBtn.addActionListener(e -> {
+            session.flush();
+            if (!board.isFullyFilled()) {
+                session.showError("Ainda falta preencher espaços.");
+                return;
+            }
+            boolean conflicts = SudokuValidator.hasConflicts(board);
+            if (conflicts) {
+                session.showError("O tabuleiro está completo, mas contém conflitos.");
+                return;
+            }
+            session.showInfo("Parabéns! Sudoku completo e válido ✅\n" + session.finish());
+            dispose();
+        });
+
+        undoBtn.addActionListener(e -> session.undo());
+        redoBtn.addActionListener(e -> session.redo());
+
+        exitBtn.addActionListener(e -> dispose());
+
+        panel.add(resetBtn);
+        panel.add(checkBtn);
+        panel.add(finishBtn);
+        panel.add(undoBtn);
+        panel.add(redoBtn);
+        panel.add(hintBtn);
+        panel.add(pasteBtn);
+        panel.add(openBtn);
+        panel.add(exitBtn);
+
+        return panel;
+    }
+
+    // true se o board mudou
+    private boolean applyUserInput(int col, int row) {
+        Space space = board.getSpace(col, row);
+        NumberTextField tf = fields[row][col];
+
+        if (space.isFixed()) {
+            tf.setNumber(space.getValue());
+            return false;
+        }
+
+        Integer newValue = tf.getNumberOrNull();
+        Integer oldValue = space.getValue();
+
+        // se não mudou, não faz nada
+        if ((oldValue == null && newValue == null) || (oldValue != null && oldValue.equals(newValue))) {
+            return false;
+        }
+
+        // histórico p/ desfazer, gravação, tempo e coop ficam com a sessão
+        session.play(col, row, newValue);
+        return true;
+    }
+
+    public void joinCoop(String address) throws IOException {
+        session.joinCoop(address);
+    }
+
+    private void refreshCell(int col, int row) {
+        Space s = board.getSpace(col, row);
+        NumberTextField tf = fields[row][col];
+
+        tf.setNumber(s.getValue());
+
+        if (s.isFixed()) {
+            tf.setEditable(false);
+            tf.setBackground(new Color(235, 235, 235));
+        } else {
+            tf.setEditable(true);
+            tf.setBackground(Color.WHITE);
+        }
+    }
+
+    // números do usuário: vermelho se conflitam com algum vizinho, laranja se o tabuleiro ficou sem solução
+    private void paintCell(int cell) {
+        int col = cell % Board.SIZE;
+        int row = cell / Board.SIZE;
+        Space s = board.getSpace(col, row);
+
+        Color color = Color.BLACK;
+        if (!s.isFixed() && s.getValue() != null) {
+            if (session.isConflict(cell)) color = Color.RED.darker();
+            else if (session.isDeadEnd()) color = new Color(200, 110, 0);
+        }
+        if (!color.equals(fields[row][col].getForeground())) fields[row][col].setForeground(color);
+    }
+
+    @Override
+    public void dispose() {
+        session.dispose();
+        super.dispose();
+    }
+}
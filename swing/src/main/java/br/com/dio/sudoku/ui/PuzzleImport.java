@@ -0,0 +1,72 @@
+package br.com.dio.sudoku.ui;
+
+import br.com.dio.sudoku.util.Grids;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.datatransfer.DataFlavor;
+import java.awt.datatransfer.UnsupportedFlavorException;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+// Lê um puzzle inteiro da área de transferência ou de um arquivo, para as telas carregarem
+// com Board.load (uma troca e uma repintura, em vez de 81 edições).
+// Aceita 81 caracteres numa linha, a grade em 9 linhas (com ou sem separadores) ou um arquivo
+// em lote (usa o primeiro puzzle válido).
+final class PuzzleImport {
+
+    static byte[] fromClipboard() throws IOException {
+        try {
+            Object data = Toolkit.getDefaultToolkit().getSystemClipboard().getData(DataFlavor.stringFlavor);
+            return fromText(String.valueOf(data));
+        } catch (UnsupportedFlavorException | IllegalStateException e) {
+            throw new IOException("A área de transferência não tem texto", e);
+        }
+    }
+
+    // null se o usuário cancelar
+    static byte[] chooseFile(Component parent) throws IOException {
+        JFileChooser chooser = new JFileChooser(new File("."));
+        chooser.setDialogTitle("Abrir puzzle");
+        if (chooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) return null;
+        return fromText(Files.readString(chooser.getSelectedFile().toPath(), StandardCharsets.UTF_8));
+    }
+
+    static byte[] fromText(String text) {
+        try {
+            return Grids.parseLenient(text);
+        } catch (IllegalArgumentException whole) {
+            for (String line : text.split("\\R")) {
+                try {
+                    return Grids.parseLenient(line);
+                } catch (IllegalArgumentException ignored) {
+                    // tenta a próxima linha
+                }
+            }
+            throw whole;
+        }
+    }
+
+    // Ctrl+Shift+V cola um puzzle, Ctrl+O abre um arquivo (Ctrl+V continua colando dentro da célula)
+    static void bindShortcuts(JRootPane root, Runnable paste, Runnable open) {
+        InputMap keys = root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        keys.put(KeyStroke.getKeyStroke(KeyEvent.VK_V, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK), "colarPuzzle");
+        keys.put(KeyStroke.getKeyStroke(KeyEvent.VK_O, InputEvent.CTRL_DOWN_MASK), "abrirPuzzle");
+        root.getActionMap().put("colarPuzzle", action(paste));
+        root.getActionMap().put("abrirPuzzle", action(open));
+    }
+
+    private static Action action(Runnable r) {
+        return new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                r.run();
+            }
+        };
+    }
+}
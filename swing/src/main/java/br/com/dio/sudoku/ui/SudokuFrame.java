@@ -3,25 +3,48 @@ package br.com.dio.sudoku.ui;
 import br.com.dio.sudoku.board.Board;
 import br.com.dio.sudoku.board.Space;
 import br.com.dio.sudoku.game.SudokuValidator;
+import br.com.dio.sudoku.util.Grids;
 
 import javax.swing.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import java.awt.*;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.io.IOException;
 
 public class SudokuFrame extends JFrame {
 
     private final Board board;
     private final JTextField[][] fields = new JTextField[Board.SIZE][Board.SIZE];
 
-    private final Deque<Move> history = new ArrayDeque<>();
     private boolean programmaticChange = false; // evita registrar "undo" quando a gente atualiza a UI via código
 
+    // jogadas, undo, conflitos, coop, troca de puzzle e ranking (igual à MainScreen)
+    private final GameSession session;
+
     public SudokuFrame(Board board) {
         super("Sudoku");
         this.board = board;
+        this.session = new GameSession(this, board, new GameSession.View() {
+            @Override
+            public boolean applyEdit(int col, int row) {
+                return SudokuFrame.this.applyEdit(col, row);
+            }
+
+            @Override
+            public void refreshCell(int col, int row) {
+                refreshField(col, row);
+            }
+
+            @Override
+            public void paintCell(int cell) {
+                SudokuFrame.this.paintCell(cell);
+            }
+
+            @Override
+            public void focusCell(int col, int row) {
+                fields[row][col].requestFocusInWindow();
+            }
+        });
 
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(560, 650);
@@ -31,8 +54,8 @@ public class SudokuFrame extends JFrame {
         add(buildGridPanel(), BorderLayout.CENTER);
         add(buildButtonsPanel(), BorderLayout.SOUTH);
 
-        refreshAllFieldsFromBoard();
-        highlightConflicts();
+        session.start();
+        TraceReplayViewer.bindShortcut(getRootPane(), () -> Grids.givensFromBoard(board));
     }
 
     private JPanel buildGridPanel() {
@@ -87,33 +110,43 @@ public class SudokuFrame extends JFrame {
         JButton btnCheck = new JButton("Verificar jogo");
         JButton btnFinish = new JButton("Concluir");
         JButton btnUndo = new JButton("Desfazer");
+        JButton btnRedo = new JButton("Refazer");
         JButton btnExit = new JButton("Sair");
+        JButton btnHint = new JButton("Dica");
+        JButton btnPaste = new JButton("Colar puzzle");
+        JButton btnOpen = new JButton("Abrir...");
+
+        btnPaste.setToolTipText("Cola um puzzle de 81 células da área de transferência (Ctrl+Shift+V)");
+        btnOpen.setToolTipText("Carrega um puzzle de um arquivo de texto (Ctrl+O)");
+        btnHint.addActionListener(e -> session.showHint());
+        btnPaste.addActionListener(e -> session.pastePuzzle());
+        btnOpen.addActionListener(e -> session.openPuzzle());
 
         btnReset.addActionListener(e -> {
-            board.clearUserInputs();
-            history.clear();
-            refreshAllFieldsFromBoard();
-            highlightConflicts();
+            session.reset();
             JOptionPane.showMessageDialog(this, "Jogo reiniciado (mantendo os números fixos).");
         });
 
         btnCheck.addActionListener(e -> {
+            session.flush();
             boolean conflicts = SudokuValidator.hasConflicts(board);
             boolean filled = board.isFullyFilled();
             String status = filled ? "COMPLETO" : "INCOMPLETO";
 
             String msg = "Status: " + status + "\n"
-                    + "Erros (conflitos): " + (conflicts ? "SIM" : "NÃO");
+                    + "Erros (conflitos): " + (conflicts ? "SIM" : "NÃO") + "\n"
+                    + session.progress();
 
-            highlightConflicts();
+            session.refreshConflicts();
             JOptionPane.showMessageDialog(this, msg);
         });
 
         btnFinish.addActionListener(e -> {
+            session.flush();
             boolean conflicts = SudokuValidator.hasConflicts(board);
             boolean filled = board.isFullyFilled();
 
-            highlightConflicts();
+            session.refreshConflicts();
 
             if (!filled) {
                 JOptionPane.showMessageDialog(this, "Ainda faltam espaços para preencher.");
@@ -124,11 +157,12 @@ public class SudokuFrame extends JFrame {
                 return;
             }
 
-            JOptionPane.showMessageDialog(this, "Parabéns! Sudoku concluído com sucesso!");
+            JOptionPane.showMessageDialog(this, "Parabéns! Sudoku concluído com sucesso!\n" + session.finish());
             dispose(); // fecha a janela
         });
 
-        btnUndo.addActionListener(e -> undoLastMove());
+        btnUndo.addActionListener(e -> session.undo());
+        btnRedo.addActionListener(e -> session.redo());
 
         btnExit.addActionListener(e -> {
             int opt = JOptionPane.showConfirmDialog(
@@ -144,16 +178,25 @@ public class SudokuFrame extends JFrame {
         panel.add(btnCheck);
         panel.add(btnFinish);
         panel.add(btnUndo);
+        panel.add(btnRedo);
+        panel.add(btnHint);
+        panel.add(btnPaste);
+        panel.add(btnOpen);
         panel.add(btnExit);
 
         return panel;
     }
 
+    // chamado pelo DocumentListener: só marca a célula, a sessão aplica as edições no fim do ciclo
     private void onChange(int col, int row) {
         if (programmaticChange) return;
+        session.markDirty(col, row);
+    }
 
+    // true se o board mudou
+    private boolean applyEdit(int col, int row) {
         Space space = board.getSpace(col, row);
-        if (space.isFixed()) return;
+        if (space.isFixed()) return false;
 
         String text = fields[row][col].getText().trim();
 
@@ -176,21 +219,22 @@ public class SudokuFrame extends JFrame {
             programmaticChange = true;
             fields[row][col].setText(oldValue == null ? "" : String.valueOf(oldValue));
             programmaticChange = false;
-            return;
+            return false;
         }
 
         if ((oldValue == null && newValue == null) || (oldValue != null && oldValue.equals(newValue))) {
-            highlightConflicts();
-            return;
+            return false;
         }
 
-        // Registra histórico pra Undo
-        history.push(new Move(col, row, oldValue, newValue));
-
-        // Aplica no board
-        board.setUserValue(col, row, newValue);
+        // Aplica no board (histórico pra Undo, gravação, tempo e coop ficam com a sessão)
+        session.play(col, row, newValue);
+        return true;
+    }
 
-        highlightConflicts();
+    @Override
+    public void dispose() {
+        session.dispose();
+        super.dispose();
     }
 
     private Integer parseDigitOrNull(String s) {
@@ -200,64 +244,29 @@ public class SudokuFrame extends JFrame {
         return c - '0';
     }
 
-    private void undoLastMove() {
-        if (history.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Nada para desfazer.");
-            return;
-        }
-
-        Move last = history.pop();
-        board.setUserValue(last.col, last.row, last.oldValue);
-
-        programmaticChange = true;
-        fields[last.row][last.col].setText(last.oldValue == null ? "" : String.valueOf(last.oldValue));
-        programmaticChange = false;
-
-        highlightConflicts();
+    public void joinCoop(String address) throws IOException {
+        session.joinCoop(address);
     }
 
-    private void refreshAllFieldsFromBoard() {
+    private void refreshField(int col, int row) {
+        Space s = board.getSpace(col, row);
         programmaticChange = true;
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                Space s = board.getSpace(col, row);
-                fields[row][col].setText(s.getValue() == null ? "" : String.valueOf(s.getValue()));
-            }
-        }
+        fields[row][col].setText(s.getValue() == null ? "" : String.valueOf(s.getValue()));
+        fields[row][col].setEditable(!s.isFixed()); // muda quando outro puzzle é carregado ou o coop fixa
         programmaticChange = false;
     }
 
-    private void highlightConflicts() {
-        // reseta cores
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                Space s = board.getSpace(col, row);
-                if (s.isFixed()) fields[row][col].setBackground(new Color(235, 235, 235));
-                else fields[row][col].setBackground(Color.WHITE);
-            }
-        }
+    private void paintCell(int cell) {
+        int col = cell % Board.SIZE;
+        int row = cell / Board.SIZE;
+        Space s = board.getSpace(col, row);
 
-        // pinta conflitos
-        boolean[][] conflicts = SudokuValidator.conflictMatrix(board);
-        for (int row = 0; row < 9; row++) {
-            for (int col = 0; col < 9; col++) {
-                if (conflicts[row][col]) {
-                    fields[row][col].setBackground(new Color(255, 200, 200)); // vermelho claro
-                }
-            }
-        }
-    }
+        Color color;
+        if (session.isConflict(cell)) color = new Color(255, 200, 200);                      // vermelho claro
+        else if (s.isFixed()) color = new Color(235, 235, 235);
+        else if (session.isDeadEnd() && s.getValue() != null) color = new Color(255, 225, 180);           // laranja claro
+        else color = Color.WHITE;
 
-    private static class Move {
-        final int col, row;
-        final Integer oldValue;
-        final Integer newValue;
-
-        Move(int col, int row, Integer oldValue, Integer newValue) {
-            this.col = col;
-            this.row = row;
-            this.oldValue = oldValue;
-            this.newValue = newValue;
-        }
+        if (!color.equals(fields[row][col].getBackground())) fields[row][col].setBackground(color);
     }
 }
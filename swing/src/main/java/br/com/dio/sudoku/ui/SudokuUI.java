@@ -0,0 +1,37 @@
+package br.com.dio.sudoku.ui;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.ArgsParser;
+
+import javax.swing.*;
+import java.awt.Component;
+import java.io.IOException;
+
+public class SudokuUI {
+
+    public static void start(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            Board board = new Board();
+            ArgsParser.applyInitialSpaces(board, args); // usa os args igual no terminal
+            MainScreen screen = new MainScreen(board);
+            screen.setVisible(true);
+            joinCoopIfRequested(screen::joinCoop, args, screen);
+        });
+    }
+
+    interface CoopJoin {
+        void join(String address) throws IOException;
+    }
+
+    // --coop=host:porta: entra no jogo cooperativo (ver br.com.dio.sudoku.net.CoopServer)
+    static void joinCoopIfRequested(CoopJoin screen, String[] args, Component parent) {
+        String address = CoopLink.addressFromArgs(args);
+        if (address == null) return;
+        try {
+            screen.join(address);
+        } catch (IOException | RuntimeException e) {
+            JOptionPane.showMessageDialog(parent, "Não foi possível conectar em " + address + ": " + e.getMessage(),
+                    "Sudoku", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package br.com.dio.sudoku.ui;
+
+import br.com.dio.sudoku.solver.PropagatingSolver;
+import br.com.dio.sudoku.solver.SolverTrace;
+import br.com.dio.sudoku.util.Grids;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+// Reprodução animada de um SolverTrace: o tabuleiro vai sendo preenchido e desfeito como na busca.
+// Dicas em preto, escolhas em azul, singles em verde; a célula do evento atual fica destacada
+// (amarelo = colocou, vermelho = voltou, cinza = candidato eliminado). A velocidade vai de
+// 1 a 20.000 eventos/s; a cada quadro (30 por segundo) os eventos do intervalo são aplicados de uma vez.
+//
+// uso: TraceReplayViewer [rastro.bin]   (sem argumento abre um seletor de arquivo)
+//      Ctrl+T nas telas do jogo rastreia o puzzle atual (PropagatingSolver) e abre o viewer.
+public class TraceReplayViewer extends JFrame {
+
+    private static final int FPS = 30;
+    private static final int TRACE_CAPACITY = 4_000_000;
+
+    private final SolverTrace trace;
+    private final Replay replay;
+    private final GridView view = new GridView();
+    private final JLabel status = new JLabel();
+    private final JButton playBtn = new JButton("Reproduzir");
+    private final JSlider speed = new JSlider(0, 1000, 400);
+    private final Timer timer = new Timer(1000 / FPS, e -> tick());
+    private double pending; // fração de evento acumulada entre quadros
+
+    public TraceReplayViewer(SolverTrace trace) {
+        super("Rastro: " + trace.solver());
+        this.trace = trace;
+        this.replay = new Replay(trace);
+
+        setDefaultCloseOperation(WindowConstants.DISPOSE_ON_CLOSE);
+        setLayout(new BorderLayout(5, 5));
+        add(view, BorderLayout.CENTER);
+        add(buildControls(), BorderLayout.SOUTH);
+        updateStatus();
+
+        pack();
+        setLocationRelativeTo(null);
+    }
+
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            Path file;
+            if (args.length > 0) {
+                file = Path.of(args[0]);
+            } else {
+                JFileChooser chooser = new JFileChooser(new File("."));
+                chooser.setDialogTitle("Abrir rastro");
+                if (chooser.showOpenDialog(null) != JFileChooser.APPROVE_OPTION) return;
+                file = chooser.getSelectedFile().toPath();
+            }
+            try {
+                TraceReplayViewer viewer = new TraceReplayViewer(SolverTrace.read(file));
+                viewer.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+                viewer.setVisible(true);
+            } catch (IOException e) {
+                JOptionPane.showMessageDialog(null, "Não foi possível abrir o rastro: " + e.getMessage(),
+                        "Sudoku", JOptionPane.ERROR_MESSAGE);
+            }
+        });
+    }
+
+    // Ctrl+T: rastreia as dicas do puzzle atual fora da EDT e abre o viewer quando terminar
+    static void bindShortcut(JRootPane root, Supplier<byte[]> givens) {
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW)
+                .put(KeyStroke.getKeyStroke(KeyEvent.VK_T, InputEvent.CTRL_DOWN_MASK), "rastrearSolucao");
+        root.getActionMap().put("rastrearSolucao", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                traceAndShow(givens.get());
+            }
+        });
+    }
+
+    static void traceAndShow(byte[] givens) {
+        new SwingWorker<SolverTrace, Void>() {
+            @Override
+            protected SolverTrace doInBackground() {
+                SolverTrace trace = new SolverTrace(TRACE_CAPACITY);
+                new PropagatingSolver(trace).countSolutions(givens, 1);
+                return trace;
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    new TraceReplayViewer(get()).setVisible(true);
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(null, "Falha ao rastrear: " + e.getMessage(),
+                            "Sudoku", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private JPanel buildControls() {
+        JButton stepBtn = new JButton("Passo");
+        JButton restartBtn = new JButton("Reiniciar");
+        JButton endBtn = new JButton("Ir ao fim");
+
+        playBtn.addActionListener(e -> togglePlay());
+        stepBtn.addActionListener(e -> {
+            stop();
+            replay.step();
+            refresh();
+        });
+        restartBtn.addActionListener(e -> {
+            stop();
+            replay.reset();
+            refresh();
+        });
+        endBtn.addActionListener(e -> {
+            stop();
+            replay.advance(Integer.MAX_VALUE);
+            refresh();
+        });
+        speed.addChangeListener(e -> updateStatus());
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 4));
+        buttons.add(playBtn);
+        buttons.add(stepBtn);
+        buttons.add(restartBtn);
+        buttons.add(endBtn);
+        buttons.add(new JLabel("Velocidade:"));
+        buttons.add(speed);
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(buttons, BorderLayout.CENTER);
+        status.setBorder(BorderFactory.createEmptyBorder(0, 10, 6, 10));
+        panel.add(status, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    // escala logarítmica: 0..1000 no slider = 1..20.000 eventos/s
+    private double eventsPerSecond() {
+        return Math.pow(20_000, speed.getValue() / 1000.0);
+    }
+
+    private void togglePlay() {
+        if (timer.isRunning()) {
+            stop();
+        } else {
+            if (replay.finished()) replay.reset();
+            pending = 0;
+            timer.start();
+            playBtn.setText("Pausar");
+        }
+    }
+
+    private void stop() {
+        timer.stop();
+        playBtn.setText("Reproduzir");
+    }
+
+    private void tick() {
+        pending += eventsPerSecond() / FPS;
+        int n = (int) pending;
+        if (n == 0) return;
+        pending -= n;
+        replay.advance(n);
+        if (replay.finished()) stop();
+        refresh();
+    }
+
+    private void refresh() {
+        view.repaint();
+        updateStatus();
+    }
+
+    private void updateStatus() {
+        String overflow = trace.overflowed() ? " (de " + trace.total() + " gravados só " + trace.size() + ")" : "";
+        status.setText(String.format("Evento %d/%d%s | profundidade %d | retrocessos %d | soluções %d | %.0f eventos/s",
+                replay.position, trace.size(), overflow, replay.depth, replay.backtracks, replay.solutions,
+                eventsPerSecond()));
+    }
+
+    @Override
+    public void dispose() {
+        timer.stop();
+        super.dispose();
+    }
+
+    // =========================
+    // Estado reconstruído
+    // =========================
+
+    // tabuleiro após os primeiros 'position' eventos (sem Swing, para poder conferir fora da tela)
+    static final class Replay {
+        static final int GIVEN = -1;
+
+        final SolverTrace trace;
+        final byte[] puzzle;
+        final byte[] values = new byte[Grids.CELLS];
+        final int[] setAt = new int[Grids.CELLS]; // profundidade em que o valor entrou (GIVEN = dica)
+        final int[] setBy = new int[Grids.CELLS]; // ASSIGN ou PROPAGATE
+        int position;
+        int depth;
+        int backtracks;
+        int solutions;
+        int lastCell = -1;
+        int lastType = -1;
+
+        Replay(SolverTrace trace) {
+            this.trace = trace;
+            this.puzzle = trace.puzzle();
+            reset();
+        }
+
+        void reset() {
+            System.arraycopy(puzzle, 0, values, 0, Grids.CELLS);
+            for (int i = 0; i < Grids.CELLS; i++) setAt[i] = puzzle[i] != 0 ? GIVEN : 0;
+            Arrays.fill(setBy, 0);
+            position = 0;
+            depth = 0;
+            backtracks = 0;
+            solutions = 0;
+            lastCell = -1;
+            lastType = -1;
+        }
+
+        boolean finished() {
+            return position >= trace.size();
+        }
+
+        void advance(int count) {
+            for (int i = 0; i < count && !finished(); i++) step();
+        }
+
+        void step() {
+            if (finished()) return;
+            int e = trace.event(position++);
+            int type = SolverTrace.type(e);
+            int cell = SolverTrace.cell(e);
+            depth = SolverTrace.depth(e);
+            lastType = type;
+            lastCell = type == SolverTrace.SOLUTION ? -1 : cell;
+            switch (type) {
+                case SolverTrace.ASSIGN, SolverTrace.PROPAGATE -> {
+                    values[cell] = (byte) SolverTrace.digit(e);
+                    setAt[cell] = depth;
+                    setBy[cell] = type;
+                }
+                case SolverTrace.BACKTRACK -> {
+                    backtracks++;
+                    for (int i = 0; i < Grids.CELLS; i++) {
+                        if (setAt[i] != GIVEN && values[i] != 0 && setAt[i] >= depth) values[i] = 0;
+                    }
+                }
+                case SolverTrace.SOLUTION -> solutions++;
+                default -> { } // ELIMINATE: só destaca a célula
+            }
+        }
+    }
+
+    // =========================
+    // Desenho
+    // =========================
+
+    private final class GridView extends JComponent {
+        private static final int CELL = 48;
+        private final Font font = new Font("Arial", Font.BOLD, 22);
+
+        GridView() {
+            setPreferredSize(new Dimension(CELL * 9 + 21, CELL * 9 + 21));
+        }
+
+        @Override
+        protected void paintComponent(Graphics g0) {
+            Graphics2D g = (Graphics2D) g0;
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            int x0 = 10;
+            int y0 = 10;
+            g.setColor(Color.WHITE);
+            g.fillRect(x0, y0, CELL * 9, CELL * 9);
+
+            if (replay.lastCell >= 0) {
+                g.setColor(switch (replay.lastType) {
+                    case SolverTrace.BACKTRACK -> new Color(255, 190, 190);
+                    case SolverTrace.ELIMINATE -> new Color(225, 225, 225);
+                    default -> new Color(255, 240, 150);
+                });
+                g.fillRect(x0 + replay.lastCell % 9 * CELL, y0 + replay.lastCell / 9 * CELL, CELL, CELL);
+            }
+
+            g.setFont(font);
+            FontMetrics fm = g.getFontMetrics();
+            for (int i = 0; i < Grids.CELLS; i++) {
+                int v = replay.values[i];
+                if (v == 0) continue;
+                if (replay.setAt[i] == Replay.GIVEN) g.setColor(Color.BLACK);
+                else if (replay.setBy[i] == SolverTrace.ASSIGN) g.setColor(new Color(30, 80, 200));
+                else g.setColor(new Color(20, 140, 60));
+                String s = String.valueOf(v);
+                int x = x0 + i % 9 * CELL + (CELL - fm.stringWidth(s)) / 2;
+                int y = y0 + i / 9 * CELL + (CELL + fm.getAscent() - fm.getDescent()) / 2;
+                g.drawString(s, x, y);
+            }
+
+            for (int k = 0; k <= 9; k++) {
+                g.setColor(k % 3 == 0 ? Color.DARK_GRAY : Color.LIGHT_GRAY);
+                g.setStroke(new BasicStroke(k % 3 == 0 ? 3 : 1));
+                g.drawLine(x0, y0 + k * CELL, x0 + 9 * CELL, y0 + k * CELL);
+                g.drawLine(x0 + k * CELL, y0, x0 + k * CELL, y0 + 9 * CELL);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.dio.sudoku.ui;
+
+import br.com.dio.sudoku.board.Board;
+import br.com.dio.sudoku.util.ArgsParser;
+
+import javax.swing.SwingUtilities;
+import java.awt.GraphicsEnvironment;
+
+public class UiMain {
+    public static void main(String[] args) throws Exception {
+        // --train: abre e fecha as duas telas para gerar o arquivo AppCDS (ver scripts/cds-train.sh)
+        if (args.length > 0 && args[0].equals("--train")) {
+            train(args);
+            return;
+        }
+        // --startup-probe: avisa no stdout quando o tabuleiro aparece e sai (usado pelo StartupBenchmark)
+        boolean probe = args.length > 0 && args[0].equals("--startup-probe");
+
+        Board board = new Board();
+        ArgsParser.applyInitialSpaces(board, args);
+
+        SwingUtilities.invokeLater(() -> {
+            SudokuFrame frame = new SudokuFrame(board);
+            frame.setVisible(true);
+            SudokuUI.joinCoopIfRequested(frame::joinCoop, args, frame);
+            if (probe) {
+                SwingUtilities.invokeLater(() -> {
+                    System.out.println("first-board");
+                    System.exit(0);
+                });
+            }
+        });
+    }
+
+    private static void train(String[] args) throws Exception {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.out.println("Sem display: treino da interface gráfica ignorado.");
+            System.exit(2);
+        }
+        Board board = new Board();
+        ArgsParser.applyInitialSpaces(board, args);
+
+        SwingUtilities.invokeAndWait(() -> {
+            SudokuFrame frame = new SudokuFrame(board);
+            frame.setVisible(true);
+            frame.paint(frame.getGraphics());
+            frame.dispose();
+
+            MainScreen screen = new MainScreen(board);
+            screen.setVisible(true);
+            screen.paint(screen.getGraphics());
+            screen.dispose();
+        });
+        System.out.println("Treino concluído.");
+        System.exit(0);
+    }
+}